@@ -0,0 +1,250 @@
+package ai;
+
+import model.Shot;
+
+import java.util.Arrays;
+
+/**
+ * Shared, coarse danger map of the field that targets steer by, instead of each target scanning every shot.
+ * Two layers on a grid of CELL_SIZE cells:
+ * - danger: each shot's predicted path for the next LOOKAHEAD_TICKS ticks, stamped with a round kernel.
+ *   It is kept up to date incrementally: shot physics is deterministic, so from one tick to the next a path
+ *   only loses its first sample and gains one at the end. A tick costs two stamps per shot, and a shot's
+ *   whole path is stamped once when it is fired and erased once when it leaves the field.
+ * - heat: where shots landed this round, counted per cell.
+ * Both are integer counts, so erasing a stamp restores the exact previous value.
+ * sample() reads both layers and their gradients at a point by bilinear interpolation: O(1) whatever the
+ * number of shots, and the gradient points across the shot paths, so steering away from it is directional.
+ */
+public class DangerField {
+    public static final int CELL_SHIFT = 5;
+    public static final int CELL_SIZE = 1 << CELL_SHIFT;
+    public static final int LOOKAHEAD_TICKS = 20;
+    // stamp kernel: cells within STAMP_RADIUS of a path sample get up to STAMP_WEIGHT, falling off linearly
+    private static final int STAMP_RADIUS = 3;
+    private static final int STAMP_WEIGHT = 16;
+    // layout of sample()'s output
+    public static final int DANGER = 0, DANGER_DX = 1, DANGER_DY = 2, HEAT = 3, HEAT_DX = 4, HEAT_DY = 5;
+    public static final int SAMPLE_SIZE = 6;
+
+    private static final int[] STAMP_DX, STAMP_DY, STAMP_W;
+
+    static {
+        int n = 0;
+        int side = 2 * STAMP_RADIUS + 1;
+        int[] dx = new int[side * side], dy = new int[side * side], w = new int[side * side];
+        for (int y = -STAMP_RADIUS; y <= STAMP_RADIUS; y++) {
+            for (int x = -STAMP_RADIUS; x <= STAMP_RADIUS; x++) {
+                double d = Math.sqrt(x * x + y * y);
+                int weight = (int) Math.round(STAMP_WEIGHT * (1 - d / (STAMP_RADIUS + 1)));
+                if (d > STAMP_RADIUS || weight <= 0) continue;
+                dx[n] = x;
+                dy[n] = y;
+                w[n] = weight;
+                n++;
+            }
+        }
+        STAMP_DX = Arrays.copyOf(dx, n);
+        STAMP_DY = Arrays.copyOf(dy, n);
+        STAMP_W = Arrays.copyOf(w, n);
+    }
+
+    private final int width, height;
+    private final int cellsX, cellsY;
+    private final int[] danger;
+    private final int[] heat;
+
+    // tracked shots, parallel arrays: the head is the shot itself, the tail is the next path sample to stamp;
+    // samples[s] path samples from the head on are stamped (fewer than LOOKAHEAD_TICKS + 1 once the path leaves the field)
+    private double[] headX = new double[16], headY = new double[16], headVx = new double[16], headVy = new double[16];
+    private double[] tailX = new double[16], tailY = new double[16], tailVx = new double[16], tailVy = new double[16];
+    private int[] samples = new int[16];
+    private boolean[] tailDone = new boolean[16];
+    private int shotCount = 0;
+
+    public DangerField(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cellsX = (width + CELL_SIZE - 1) >> CELL_SHIFT;
+        this.cellsY = (height + CELL_SIZE - 1) >> CELL_SHIFT;
+        this.danger = new int[cellsX * cellsY];
+        this.heat = new int[cellsX * cellsY];
+    }
+
+    /**
+     * Starts tracking a newly fired shot and stamps its predicted path.
+     */
+    public void addShot(Shot shot) {
+        if (shotCount == headX.length) grow();
+        int s = shotCount++;
+        headX[s] = tailX[s] = shot.x;
+        headY[s] = tailY[s] = shot.y;
+        headVx[s] = tailVx[s] = shot.vx;
+        headVy[s] = tailVy[s] = shot.vy;
+        samples[s] = 0;
+        tailDone[s] = false;
+        for (int k = 0; k <= LOOKAHEAD_TICKS; k++) {
+            extend(s);
+        }
+    }
+
+    /**
+     * Moves every tracked shot one tick, mirroring Shot.move(), and drops those that left the field,
+     * mirroring the engine. Call once per tick after the engine has moved its shots.
+     */
+    public void advance() {
+        int s = 0;
+        while (s < shotCount) {
+            if (samples[s] > 0) {
+                stamp(headX[s], headY[s], -1);
+                samples[s]--;
+            }
+            headVx[s] *= Shot.DRAG;
+            headVy[s] *= Shot.DRAG;
+            headVy[s] += Shot.GRAVITY;
+            headX[s] += headVx[s];
+            headY[s] += headVy[s];
+            if (!inField(headX[s], headY[s])) {
+                removeShot(s);
+                continue;
+            }
+            extend(s);
+            s++;
+        }
+    }
+
+    // stamps the next path sample of shot s, unless the path has already left the field
+    private void extend(int s) {
+        if (tailDone[s]) return;
+        if (!inField(tailX[s], tailY[s])) {
+            tailDone[s] = true;
+            return;
+        }
+        stamp(tailX[s], tailY[s], 1);
+        samples[s]++;
+        tailVx[s] *= Shot.DRAG;
+        tailVy[s] *= Shot.DRAG;
+        tailVy[s] += Shot.GRAVITY;
+        tailX[s] += tailVx[s];
+        tailY[s] += tailVy[s];
+    }
+
+    // erases what is left of shot s's path, then swap-removes it
+    private void removeShot(int s) {
+        double x = headX[s], y = headY[s], vx = headVx[s], vy = headVy[s];
+        for (int k = 0; k < samples[s]; k++) {
+            stamp(x, y, -1);
+            vx *= Shot.DRAG;
+            vy *= Shot.DRAG;
+            vy += Shot.GRAVITY;
+            x += vx;
+            y += vy;
+        }
+        int last = --shotCount;
+        headX[s] = headX[last];
+        headY[s] = headY[last];
+        headVx[s] = headVx[last];
+        headVy[s] = headVy[last];
+        tailX[s] = tailX[last];
+        tailY[s] = tailY[last];
+        tailVx[s] = tailVx[last];
+        tailVy[s] = tailVy[last];
+        samples[s] = samples[last];
+        tailDone[s] = tailDone[last];
+    }
+
+    private boolean inField(double x, double y) {
+        return x >= 0 && x <= width && y >= 0 && y <= height;
+    }
+
+    private void stamp(double x, double y, int sign) {
+        int cx = Math.min(cellsX - 1, (int) x >> CELL_SHIFT);
+        int cy = Math.min(cellsY - 1, (int) y >> CELL_SHIFT);
+        for (int k = 0; k < STAMP_W.length; k++) {
+            int px = cx + STAMP_DX[k], py = cy + STAMP_DY[k];
+            if (px < 0 || px >= cellsX || py < 0 || py >= cellsY) continue;
+            danger[py * cellsX + px] += sign * STAMP_W[k];
+        }
+    }
+
+    private void grow() {
+        int n = headX.length * 2;
+        headX = Arrays.copyOf(headX, n);
+        headY = Arrays.copyOf(headY, n);
+        headVx = Arrays.copyOf(headVx, n);
+        headVy = Arrays.copyOf(headVy, n);
+        tailX = Arrays.copyOf(tailX, n);
+        tailY = Arrays.copyOf(tailY, n);
+        tailVx = Arrays.copyOf(tailVx, n);
+        tailVy = Arrays.copyOf(tailVy, n);
+        samples = Arrays.copyOf(samples, n);
+        tailDone = Arrays.copyOf(tailDone, n);
+    }
+
+    /**
+     * Counts a shot landing at (x, y) in the heat layer; positions outside the field are ignored.
+     */
+    public void recordLanding(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return;
+        heat[(y >> CELL_SHIFT) * cellsX + (x >> CELL_SHIFT)]++;
+    }
+
+    /**
+     * Writes the danger and heat values at (x, y) and their gradients (per pixel) to out[0..SAMPLE_SIZE),
+     * at the DANGER, DANGER_DX, DANGER_DY, HEAT, HEAT_DX and HEAT_DY offsets.
+     */
+    public void sample(double x, double y, double[] out) {
+        // cell centres are the interpolation nodes
+        double fx = x / CELL_SIZE - 0.5, fy = y / CELL_SIZE - 0.5;
+        int x0 = (int) Math.floor(fx), y0 = (int) Math.floor(fy);
+        double tx = fx - x0, ty = fy - y0;
+        int cx0 = clamp(x0, cellsX), cx1 = clamp(x0 + 1, cellsX);
+        int cy0 = clamp(y0, cellsY), cy1 = clamp(y0 + 1, cellsY);
+        int i00 = cy0 * cellsX + cx0, i10 = cy0 * cellsX + cx1, i01 = cy1 * cellsX + cx0, i11 = cy1 * cellsX + cx1;
+        interpolate(danger[i00], danger[i10], danger[i01], danger[i11], tx, ty, out, DANGER);
+        interpolate(heat[i00], heat[i10], heat[i01], heat[i11], tx, ty, out, HEAT);
+    }
+
+    private static void interpolate(double v00, double v10, double v01, double v11, double tx, double ty,
+                                    double[] out, int offset) {
+        double top = v00 + (v10 - v00) * tx;
+        double bottom = v01 + (v11 - v01) * tx;
+        out[offset] = top + (bottom - top) * ty;
+        out[offset + 1] = ((v10 - v00) * (1 - ty) + (v11 - v01) * ty) / CELL_SIZE;
+        out[offset + 2] = (bottom - top) / CELL_SIZE;
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    /**
+     * Forgets every tracked shot; the heat layer is kept.
+     */
+    public void clearShots() {
+        Arrays.fill(danger, 0);
+        shotCount = 0;
+    }
+
+    /**
+     * Forgets every tracked shot and landing, for a new round.
+     */
+    public void clear() {
+        clearShots();
+        Arrays.fill(heat, 0);
+    }
+
+    public int getShotCount() {
+        return shotCount;
+    }
+
+    public int getDanger(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return 0;
+        return danger[(y >> CELL_SHIFT) * cellsX + (x >> CELL_SHIFT)];
+    }
+
+    public int getHeat(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return 0;
+        return heat[(y >> CELL_SHIFT) * cellsX + (x >> CELL_SHIFT)];
+    }
+}
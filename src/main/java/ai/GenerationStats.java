@@ -0,0 +1,99 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * Fitness statistics of one generation, accumulated in a single pass.
+ * - Mean and variance use Welford's online update (numerically stable, no second pass).
+ * - The best topK fitness values are kept in a small sorted array.
+ * - Gene values are copied into per-gene columns; percentiles are computed lazily,
+ *   so the sorting cost lands on whoever reads them (the telemetry writer thread).
+ */
+public class GenerationStats {
+    private final int generation;
+    private final double[] topFitness;
+    private final double[][] geneColumns;
+    private final RunningStat fitnessStat = new RunningStat();
+    private int count = 0;
+    private int topCount = 0;
+    private double[] bestGenes = new double[0];
+    private boolean sorted = false;
+
+    public GenerationStats(int generation, int expectedSize, int geneCount, int topK) {
+        this.generation = generation;
+        this.topFitness = new double[topK];
+        this.geneColumns = new double[geneCount][Math.max(1, expectedSize)];
+    }
+
+    public void add(double fitness, double[] genes) {
+        count++;
+        fitnessStat.add(fitness);
+
+        insertTop(fitness, genes);
+
+        for (int g = 0; g < geneColumns.length; g++) {
+            if (count > geneColumns[g].length) {
+                geneColumns[g] = Arrays.copyOf(geneColumns[g], geneColumns[g].length * 2);
+            }
+            geneColumns[g][count - 1] = g < genes.length ? genes[g] : 0.0;
+        }
+    }
+
+    // keeps topFitness sorted descending; insertion is O(topK), which is tiny
+    private void insertTop(double fitness, double[] genes) {
+        if (topFitness.length == 0) return;
+        if (topCount == topFitness.length && fitness <= topFitness[topCount - 1]) return;
+        int i = Math.min(topCount, topFitness.length - 1);
+        while (i > 0 && topFitness[i - 1] < fitness) {
+            topFitness[i] = topFitness[i - 1];
+            i--;
+        }
+        topFitness[i] = fitness;
+        if (topCount < topFitness.length) topCount++;
+        if (i == 0) bestGenes = genes.clone();
+    }
+
+    public int getGeneration() { return generation; }
+    public int getCount() { return count; }
+    public double getMean() { return fitnessStat.getMean(); }
+
+    /** Population standard deviation (divides by n). */
+    public double getStdDev() {
+        return Math.sqrt(fitnessStat.getVariance());
+    }
+
+    public double getBest() {
+        return topCount > 0 ? topFitness[0] : 0.0;
+    }
+
+    public double[] getTopFitness() {
+        return Arrays.copyOf(topFitness, topCount);
+    }
+
+    public double[] getBestGenes() {
+        return bestGenes.clone();
+    }
+
+    public int getGeneCount() {
+        return geneColumns.length;
+    }
+
+    /**
+     * Linear-interpolated percentile (p in [0,100]) of the given gene over the generation.
+     */
+    public double getGenePercentile(int gene, double p) {
+        if (count == 0) return 0.0;
+        if (!sorted) {
+            for (double[] column : geneColumns) {
+                Arrays.sort(column, 0, count);
+            }
+            sorted = true;
+        }
+        double[] column = geneColumns[gene];
+        double rank = (p / 100.0) * (count - 1);
+        int lo = (int) Math.floor(rank);
+        int hi = Math.min(count - 1, lo + 1);
+        double frac = rank - lo;
+        return column[lo] + (column[hi] - column[lo]) * frac;
+    }
+}
@@ -0,0 +1,30 @@
+package ai;
+
+/**
+ * Count, mean and variance of a stream of values using Welford's online update.
+ */
+public class RunningStat {
+    private int count = 0;
+    private double mean = 0.0;
+    private double m2 = 0.0;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    public int getCount() { return count; }
+    public double getMean() { return mean; }
+
+    /** Population variance (divides by n). */
+    public double getVariance() {
+        return count > 0 ? m2 / count : 0.0;
+    }
+
+    /** Unbiased sample variance (divides by n - 1). */
+    public double getSampleVariance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+}
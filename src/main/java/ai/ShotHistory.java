@@ -1,29 +1,76 @@
 package ai;
 
+/**
+ * Heatmap of where shots landed, stored sparsely in square chunks.
+ * A chunk's counters are only allocated once a shot lands in it, so a huge, mostly quiet world costs one null
+ * reference per chunk instead of a dense width x height array.
+ */
 public class ShotHistory {
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
     private final int width, height;
-    private final int[][] heatmap;
+    private final int chunksX;
+    private final int[][] chunks;
 
     public ShotHistory(int width, int height) {
         this.width = width;
         this.height = height;
-        this.heatmap = new int[width][height];
+        this.chunksX = (width + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        int chunksY = (height + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        this.chunks = new int[chunksX * chunksY][];
+    }
+
+    /**
+     * Counts a shot landing at (x, y); positions outside the field are ignored.
+     */
+    public void record(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return;
+        int chunk = (y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT);
+        int[] cells = chunks[chunk];
+        if (cells == null) {
+            cells = new int[CHUNK_SIZE * CHUNK_SIZE];
+            chunks[chunk] = cells;
+        }
+        cells[((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK)]++;
+    }
+
+    public int getCount(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return 0;
+        int[] cells = chunks[(y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT)];
+        return cells == null ? 0 : cells[((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK)];
     }
 
     /**
      * Returns the local density (sum in a 20x20 region) around (x, y)
      */
     public double getDensityAt(int x, int y) {
-        int sum = 0, count = 0;
-        for (int dx = -10; dx <= 10; dx++) {
-            for (int dy = -10; dy <= 10; dy++) {
-                int xx = x + dx, yy = y + dy;
-                if (xx >= 0 && xx < width && yy >= 0 && yy < height) {
-                    sum += heatmap[xx][yy];
-                    count++;
+        int x0 = Math.max(0, x - 10), x1 = Math.min(width - 1, x + 10);
+        int y0 = Math.max(0, y - 10), y1 = Math.min(height - 1, y + 10);
+        if (x0 > x1 || y0 > y1) return 0.0;
+        int sum = 0;
+        // walk the region chunk by chunk so empty chunks are skipped without touching their cells
+        for (int cy = y0 >> CHUNK_SHIFT; cy <= y1 >> CHUNK_SHIFT; cy++) {
+            for (int cx = x0 >> CHUNK_SHIFT; cx <= x1 >> CHUNK_SHIFT; cx++) {
+                int[] cells = chunks[cy * chunksX + cx];
+                if (cells == null) continue;
+                int ly0 = Math.max(y0, cy << CHUNK_SHIFT) & CHUNK_MASK;
+                int ly1 = Math.min(y1, (cy << CHUNK_SHIFT) + CHUNK_MASK) & CHUNK_MASK;
+                int lx0 = Math.max(x0, cx << CHUNK_SHIFT) & CHUNK_MASK;
+                int lx1 = Math.min(x1, (cx << CHUNK_SHIFT) + CHUNK_MASK) & CHUNK_MASK;
+                for (int ly = ly0; ly <= ly1; ly++) {
+                    int row = ly << CHUNK_SHIFT;
+                    for (int lx = lx0; lx <= lx1; lx++) {
+                        sum += cells[row | lx];
+                    }
                 }
             }
         }
-        return count > 0 ? (double) sum / count : 0.0;
+        int count = (x1 - x0 + 1) * (y1 - y0 + 1);
+        return (double) sum / count;
     }
-}
\ No newline at end of file
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
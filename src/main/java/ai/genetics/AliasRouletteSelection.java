@@ -0,0 +1,70 @@
+package ai.genetics;
+
+import java.util.Random;
+
+/**
+ * Fitness-proportionate (roulette) selection using Vose's alias method:
+ * O(n) to build the table once per generation, then O(1) per parent.
+ */
+public class AliasRouletteSelection implements SelectionStrategy {
+    private double[] weights;
+    private double[] probability;
+    private int[] alias;
+    private int[] small;
+    private int[] large;
+
+    @Override
+    public void select(double[] fitness, int size, int count, int[] out, Random rand) {
+        buildTable(fitness, size);
+        for (int i = 0; i < count; i++) {
+            int column = rand.nextInt(size);
+            out[i] = rand.nextDouble() < probability[column] ? column : alias[column];
+        }
+    }
+
+    private void buildTable(double[] fitness, int size) {
+        weights = SelectionStrategy.rouletteWeights(fitness, size, weights);
+        if (probability == null || probability.length < size) {
+            probability = new double[size];
+            alias = new int[size];
+            small = new int[size];
+            large = new int[size];
+        }
+        double total = 0;
+        for (int i = 0; i < size; i++) total += weights[i];
+
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            // scaled so the average column holds exactly 1.0
+            weights[i] = weights[i] * size / total;
+            if (weights[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = weights[less];
+            alias[less] = more;
+            weights[more] = weights[more] + weights[less] - 1.0;
+            if (weights[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // leftovers are 1.0 up to rounding error
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+    }
+}
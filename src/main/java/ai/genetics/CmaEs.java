@@ -0,0 +1,277 @@
+package ai.genetics;
+
+import model.Target;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * (mu/mu_w, lambda) Covariance Matrix Adaptation Evolution Strategy over the genome vector.
+ * Each call updates the search distribution (mean, step size sigma and covariance C) from the evaluated
+ * population and samples the next one from N(mean, sigma^2 C). With only a handful of continuous genes this
+ * typically needs far fewer evaluations than tournament selection with fixed-size Gaussian mutation.
+
+ * Implementation notes:
+ * - Matrices are flat row-major double arrays; C is re-decomposed (cyclic Jacobi) after every update.
+ * - Offspring are sampled as one batch: all standard normal draws first, then y = B * (D .* z) per child.
+ * - Samples are clamped to the gene ranges (Genome.clamp); the clamped values are used in the update.
+ * - Strategy parameters follow Hansen's tutorial defaults and are recomputed when lambda changes
+ *   (the interactive game grows its population every generation).
+ * - lambda is at least MIN_LAMBDA = 4 + floor(3 ln n), the standard default: below that the rank-mu update
+ *   and step-size control have too few samples to mean anything. Smaller generations (the interactive game
+ *   starts with a single target) are pooled with the following ones, which are sampled from the same
+ *   distribution, and the update waits until the pool holds MIN_LAMBDA evaluated samples.
+ */
+public class CmaEs implements Optimizer {
+    private static final double INITIAL_SIGMA = 0.5;
+    private static final double MIN_SIGMA = 1e-6;
+    private static final double MAX_SIGMA = 2.0;
+    public static final int MIN_LAMBDA = 4 + (int) Math.floor(3 * Math.log(Genome.GENE_COUNT));
+
+    private final int n = Genome.GENE_COUNT;
+    private final Random rand;
+
+    private final double[] mean = new double[n];
+    private final double[] pc = new double[n];
+    private final double[] ps = new double[n];
+    private final double[] cov = new double[n * n];
+    private final double[] eigenVectors = new double[n * n];
+    private final double[] eigenSqrt = new double[n];
+    private final double[] invSqrtCov = new double[n * n];
+    private double sigma = INITIAL_SIGMA;
+    private boolean initialized = false;
+    private int updates = 0;
+    // evaluated samples of the current distribution that have not been used in an update yet
+    private double[] pendingX = new double[0];
+    private double[] pendingFitness = new double[0];
+    private int pendingCount = 0;
+
+    // strategy parameters for the current lambda
+    private int lambda = -1;
+    private int mu;
+    private double[] weights;
+    private double muEff, cc, cs, c1, cmu, damps;
+    private final double chiN = Math.sqrt(n) * (1 - 1.0 / (4 * n) + 1.0 / (21.0 * n * n));
+
+    public CmaEs() {
+        this(new Random());
+    }
+
+    public CmaEs(Random rand) {
+        this.rand = rand;
+        for (int i = 0; i < n; i++) {
+            cov[i * n + i] = 1.0;
+            eigenVectors[i * n + i] = 1.0;
+            eigenSqrt[i] = 1.0;
+            invSqrtCov[i * n + i] = 1.0;
+        }
+    }
+
+    @Override
+    public List<Genome> nextGeneration(List<Target> population, int populationSize) {
+        int size = population.size();
+        if (size > 0) {
+            if (pendingFitness.length < pendingCount + size) {
+                int capacity = Math.max(pendingCount + size, 2 * pendingFitness.length);
+                pendingFitness = Arrays.copyOf(pendingFitness, capacity);
+                pendingX = Arrays.copyOf(pendingX, capacity * n);
+            }
+            for (int k = 0; k < size; k++) {
+                Target t = population.get(k);
+                pendingFitness[pendingCount] = t.getFitness();
+                System.arraycopy(t.getGenome().genesView(), 0, pendingX, pendingCount * n, n);
+                pendingCount++;
+            }
+            // the random initial population is used at once, however small: it only places the first mean
+            if (!initialized || pendingCount >= MIN_LAMBDA) {
+                setLambda(pendingCount);
+                int[] ranked = new int[mu];
+                int selected = TopK.indices(pendingFitness, pendingCount, mu, ranked);
+                if (!initialized) {
+                    // start the distribution at the weighted best of the initial population
+                    for (int i = 0; i < n; i++) {
+                        double m = 0;
+                        for (int j = 0; j < selected; j++) m += weights[j] * pendingX[ranked[j] * n + i];
+                        mean[i] = m;
+                    }
+                    initialized = true;
+                } else {
+                    update(pendingX, ranked, selected);
+                }
+                pendingCount = 0;
+            }
+        }
+        return sample(populationSize);
+    }
+
+    private void setLambda(int newLambda) {
+        if (newLambda == lambda) return;
+        lambda = newLambda;
+        mu = Math.max(1, lambda / 2);
+        weights = new double[mu];
+        double sum = 0;
+        for (int i = 0; i < mu; i++) {
+            weights[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+            sum += weights[i];
+        }
+        double sum2 = 0;
+        for (int i = 0; i < mu; i++) {
+            weights[i] /= sum;
+            sum2 += weights[i] * weights[i];
+        }
+        muEff = 1.0 / sum2;
+        cc = (4 + muEff / n) / (n + 4 + 2 * muEff / n);
+        cs = (muEff + 2) / (n + muEff + 5);
+        c1 = 2 / ((n + 1.3) * (n + 1.3) + muEff);
+        cmu = Math.min(1 - c1, 2 * (muEff - 2 + 1 / muEff) / ((n + 2) * (n + 2) + muEff));
+        damps = 1 + 2 * Math.max(0, Math.sqrt((muEff - 1) / (n + 1)) - 1) + cs;
+    }
+
+    private void update(double[] x, int[] ranked, int selected) {
+        // y_k = (x_k - mean) / sigma for the selected samples, and their weighted mean
+        double[] y = new double[selected * n];
+        double[] yw = new double[n];
+        for (int j = 0; j < selected; j++) {
+            int base = ranked[j] * n;
+            for (int i = 0; i < n; i++) {
+                double v = (x[base + i] - mean[i]) / sigma;
+                y[j * n + i] = v;
+                yw[i] += weights[j] * v;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            mean[i] += sigma * yw[i];
+        }
+
+        // step size path uses C^-1/2 * yw
+        double psFactor = Math.sqrt(cs * (2 - cs) * muEff);
+        double psNorm2 = 0;
+        for (int i = 0; i < n; i++) {
+            double v = 0;
+            for (int j = 0; j < n; j++) v += invSqrtCov[i * n + j] * yw[j];
+            ps[i] = (1 - cs) * ps[i] + psFactor * v;
+            psNorm2 += ps[i] * ps[i];
+        }
+        double psNorm = Math.sqrt(psNorm2);
+        updates++;
+        boolean hsig = psNorm / Math.sqrt(1 - Math.pow(1 - cs, 2.0 * updates)) / chiN < 1.4 + 2.0 / (n + 1);
+        double h = hsig ? 1.0 : 0.0;
+
+        double pcFactor = h * Math.sqrt(cc * (2 - cc) * muEff);
+        for (int i = 0; i < n; i++) {
+            pc[i] = (1 - cc) * pc[i] + pcFactor * yw[i];
+        }
+
+        // rank-one and rank-mu covariance update
+        double keep = 1 - c1 - cmu + (1 - h) * c1 * cc * (2 - cc);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c <= r; c++) {
+                double rankMu = 0;
+                for (int j = 0; j < selected; j++) {
+                    rankMu += weights[j] * y[j * n + r] * y[j * n + c];
+                }
+                double v = keep * cov[r * n + c] + c1 * pc[r] * pc[c] + cmu * rankMu;
+                cov[r * n + c] = v;
+                cov[c * n + r] = v;
+            }
+        }
+
+        sigma *= Math.exp((cs / damps) * (psNorm / chiN - 1));
+        sigma = Math.max(MIN_SIGMA, Math.min(MAX_SIGMA, sigma));
+        decompose();
+    }
+
+    /** Eigen-decomposes C = B D^2 B^T and refreshes C^-1/2 = B D^-1 B^T. */
+    private void decompose() {
+        double[] eigenValues = new double[n];
+        jacobiEigen(cov, n, eigenValues, eigenVectors);
+        for (int i = 0; i < n; i++) {
+            eigenSqrt[i] = Math.sqrt(Math.max(eigenValues[i], 1e-20));
+        }
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                double v = 0;
+                for (int k = 0; k < n; k++) {
+                    v += eigenVectors[r * n + k] * eigenVectors[c * n + k] / eigenSqrt[k];
+                }
+                invSqrtCov[r * n + c] = v;
+            }
+        }
+    }
+
+    private List<Genome> sample(int count) {
+        double[] z = new double[count * n];
+        for (int k = 0; k < z.length; k++) {
+            z[k] = rand.nextGaussian();
+        }
+        List<Genome> genomes = new ArrayList<>(count);
+        double[] genes = new double[n];
+        for (int k = 0; k < count; k++) {
+            int base = k * n;
+            for (int r = 0; r < n; r++) {
+                double y = 0;
+                for (int c = 0; c < n; c++) {
+                    y += eigenVectors[r * n + c] * eigenSqrt[c] * z[base + c];
+                }
+                genes[r] = Genome.clamp(r, mean[r] + sigma * y);
+            }
+            genomes.add(new Genome(genes));
+        }
+        return genomes;
+    }
+
+    public double getSigma() {
+        return sigma;
+    }
+
+    public double[] getMean() {
+        return mean.clone();
+    }
+
+    /**
+     * Cyclic Jacobi eigenvalue algorithm for a symmetric matrix a (n x n, row-major, left untouched).
+     * Eigenvalues go to values, eigenvectors to the columns of vectors.
+     */
+    static void jacobiEigen(double[] a, int n, double[] values, double[] vectors) {
+        double[] m = a.clone();
+        for (int i = 0; i < n * n; i++) vectors[i] = 0;
+        for (int i = 0; i < n; i++) vectors[i * n + i] = 1;
+
+        for (int sweep = 0; sweep < 50; sweep++) {
+            double off = 0;
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) off += m[p * n + q] * m[p * n + q];
+            }
+            if (off < 1e-30) break;
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    double apq = m[p * n + q];
+                    if (Math.abs(apq) < 1e-300) continue;
+                    double theta = (m[q * n + q] - m[p * n + p]) / (2 * apq);
+                    double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+                    if (theta == 0) t = 1;
+                    double c = 1 / Math.sqrt(t * t + 1);
+                    double s = t * c;
+                    for (int k = 0; k < n; k++) {
+                        double mkp = m[k * n + p], mkq = m[k * n + q];
+                        m[k * n + p] = c * mkp - s * mkq;
+                        m[k * n + q] = s * mkp + c * mkq;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double mpk = m[p * n + k], mqk = m[q * n + k];
+                        m[p * n + k] = c * mpk - s * mqk;
+                        m[q * n + k] = s * mpk + c * mqk;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double vkp = vectors[k * n + p], vkq = vectors[k * n + q];
+                        vectors[k * n + p] = c * vkp - s * vkq;
+                        vectors[k * n + q] = s * vkp + c * vkq;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) values[i] = m[i * n + i];
+    }
+}
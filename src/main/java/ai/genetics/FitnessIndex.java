@@ -0,0 +1,144 @@
+package ai.genetics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Bounded archive of the best recently finished genomes, kept as a min-heap on fitness.
+ * Entries age out: one added more than window additions ago is dropped however good it was, so a lucky
+ * early life cannot hold its place forever and the archive follows the current population.
+ * Adding is O(log capacity), plus an O(capacity) sweep whenever the oldest entry expires: once full,
+ * a newcomer only gets in by replacing the current worst.
+ * Entries are stored in heap order, so uniform sampling for tournaments is a single array lookup.
+ */
+public class FitnessIndex {
+    private final double[] fitness;
+    private final Genome[] genomes;
+    // add() count at which each entry came in
+    private final long[] stamps;
+    private final long window;
+    private int size = 0;
+    private long added = 0;
+    private long oldestStamp = Long.MAX_VALUE;
+
+    public FitnessIndex(int capacity, long window) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1: " + capacity);
+        if (window < 1) throw new IllegalArgumentException("window must be >= 1: " + window);
+        this.fitness = new double[capacity];
+        this.genomes = new Genome[capacity];
+        this.stamps = new long[capacity];
+        this.window = window;
+    }
+
+    /**
+     * Offers a genome with its final fitness; returns false if the archive is full and it is not better than the worst entry.
+     */
+    public boolean add(Genome genome, double value) {
+        long stamp = added++;
+        expire();
+        if (size < fitness.length) {
+            fitness[size] = value;
+            genomes[size] = genome;
+            stamps[size] = stamp;
+            oldestStamp = Math.min(oldestStamp, stamp);
+            siftUp(size++);
+            return true;
+        }
+        if (value <= fitness[0]) return false;
+        fitness[0] = value;
+        genomes[0] = genome;
+        stamps[0] = stamp;
+        siftDown(0);
+        return true;
+    }
+
+    // drops the entries that came in more than window additions ago and restores the heap
+    private void expire() {
+        long limit = added - window;
+        if (oldestStamp >= limit) return;
+        int kept = 0;
+        oldestStamp = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (stamps[i] < limit) continue;
+            fitness[kept] = fitness[i];
+            genomes[kept] = genomes[i];
+            stamps[kept] = stamps[i];
+            oldestStamp = Math.min(oldestStamp, stamps[i]);
+            kept++;
+        }
+        Arrays.fill(genomes, kept, size, null);
+        size = kept;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /** Index of a uniformly random entry; the archive must not be empty. */
+    public int sample(Random rand) {
+        return rand.nextInt(size);
+    }
+
+    public double getFitness(int index) {
+        return fitness[index];
+    }
+
+    public Genome getGenome(int index) {
+        return genomes[index];
+    }
+
+    /** Fitness an entry needs to beat to get into a full archive. */
+    public double getWorstFitness() {
+        return size > 0 ? fitness[0] : Double.NEGATIVE_INFINITY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return fitness.length;
+    }
+
+    /** Number of additions an entry stays in the archive. */
+    public long getWindow() {
+        return window;
+    }
+
+    public void clear() {
+        Arrays.fill(genomes, 0, size, null);
+        size = 0;
+        oldestStamp = Long.MAX_VALUE;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (fitness[parent] <= fitness[i]) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int smallest = left + 1 < size && fitness[left + 1] < fitness[left] ? left + 1 : left;
+            if (fitness[i] <= fitness[smallest]) break;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double f = fitness[a];
+        fitness[a] = fitness[b];
+        fitness[b] = f;
+        Genome g = genomes[a];
+        genomes[a] = genomes[b];
+        genomes[b] = g;
+        long t = stamps[a];
+        stamps[a] = stamps[b];
+        stamps[b] = t;
+    }
+}
@@ -2,16 +2,23 @@
  * GeneticAlgorithm handles the creation of new generations of genomes for evolving the target agents.
 
  * Features:
- * - Tournament selection for parent picking.
+ * - Parent selection: tournament, stochastic universal sampling or alias-table roulette.
  * - Elitism: best genomes are passed to next generation unchanged.
  * - Crossover: genes are randomly inherited from either parent.
  * - Mutation: random Gaussian noise with configurable rate and strength.
+ * - Speciation (optional): parents are selected on fitness shared within gene-space species (see Speciation).
 
- * Configuration:
- * - MUTATION_RATE: Probability each gene mutates.
- * - MUTATION_STRENGTH: Standard deviation of mutation noise.
- * - ELITE_COUNT: Number of top genomes preserved unchanged each generation.
- * - TOURNAMENT_SIZE: Number of competitors per parent tournament.
+ * Configuration (see GeneticConfig):
+ * - mutationRate: Probability each gene mutates.
+ * - mutationStrength: Standard deviation of mutation noise.
+ * - eliteCount: Number of top genomes preserved unchanged each generation.
+ * - tournamentSize: Number of competitors per parent tournament.
+ * - selection: Parent selection strategy.
+ * - speciesRadius: Gene-space radius of a species; 0 turns speciation off.
+
+ * Scaling:
+ * Fitness is copied once into a primitive array; elites come from a partial (top-k heap) selection,
+ * so the caller's list is never sorted, and parent indices are written into reused int arrays.
 
  * Usage:
  * Call nextGeneration() with the previous generation of Target agents and desired population size.
@@ -22,63 +29,90 @@ package ai.genetics;
 import model.Target;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 
-public class GeneticAlgorithm {
-    /** Probability of mutating a gene (higher = more diversity). */
-    private static final double MUTATION_RATE = 0.30;
-    /** Magnitude of mutation change (higher = more disruptive). */
-    private static final double MUTATION_STRENGTH = 0.35;
-    /** Number of top genomes preserved unmodified in next generation. */
-    private static final int ELITE_COUNT = 3;
-    /** Number of candidates in tournament selection. */
-    private static final int TOURNAMENT_SIZE = 3;
+public class GeneticAlgorithm implements Optimizer {
+    private final GeneticConfig config;
+    private final Random rand;
+    private final SelectionStrategy selection;
+    private final Speciation speciation;
+
+    // buffers reused between generations
+    private double[] fitness = new double[0];
+    private double[] sharedFitness = new double[0];
+    private int[] eliteIndices = new int[0];
+    private int[] parents = new int[0];
+
+    public GeneticAlgorithm() {
+        this(GeneticConfig.DEFAULT, new Random());
+    }
+
+    public GeneticAlgorithm(GeneticConfig config, Random rand) {
+        this.config = config;
+        this.rand = rand;
+        this.selection = SelectionStrategy.of(config);
+        this.speciation = config.speciesRadius() > 0 ? new Speciation(config.speciesRadius()) : null;
+    }
+
+    public GeneticConfig getConfig() {
+        return config;
+    }
 
     /**
-     * Tournament selection: randomly selects TOURNAMENT_SIZE individuals and picks the fittest.
-     * Repeats until numParents are selected.
+     * Number of species in the last generation, or 0 when speciation is off.
      */
-    private List<Target> selectParents(List<Target> population, int numParents) {
-        List<Target> selected = new ArrayList<>();
-        Random rand = new Random();
-        for (int i = 0; i < numParents; i++) {
-            Target best = null;
-            for (int j = 0; j < TOURNAMENT_SIZE; j++) {
-                Target candidate = population.get(rand.nextInt(population.size()));
-                if (best == null || candidate.getFitness() > best.getFitness()) {
-                    best = candidate;
-                }
-            }
-            selected.add(best);
-        }
-        return selected;
+    public int getSpeciesCount() {
+        return speciation != null ? speciation.getSpeciesCount() : 0;
     }
 
     /**
      * Creates the next generation of Genomes given the current population.
-     * - Top ELITE_COUNT are copied unchanged (elitism).
+     * - Top eliteCount are copied unchanged (elitism).
      * - Rest are created by crossover and mutation from selected parents.
+     * The population list is left untouched.
 
      * @param population Current population of Targets (used for fitness and genomes)
      * @param populationSize Desired size of next generation
      * @return List of Genomes for the next generation
      */
+    @Override
     public List<Genome> nextGeneration(List<Target> population, int populationSize) {
-        List<Genome> newGenomes = new ArrayList<>();
-        // Sort by fitness descending
-        population.sort(Comparator.comparingDouble(Target::getFitness).reversed());
+        int size = population.size();
+        List<Genome> newGenomes = new ArrayList<>(populationSize);
+        if (size == 0) return newGenomes;
+
+        if (fitness.length < size) fitness = new double[size];
+        Genome[] genomes = new Genome[size];
+        for (int i = 0; i < size; i++) {
+            Target t = population.get(i);
+            fitness[i] = t.getFitness();
+            genomes[i] = t.getGenome();
+        }
+
         // Elitism: copy best directly
-        for (int i = 0; i < ELITE_COUNT && i < population.size(); i++) {
-            newGenomes.add((Genome) population.get(i).getGenome().copy());
+        int eliteCount = Math.min(Math.min(config.eliteCount(), size), populationSize);
+        if (eliteIndices.length < eliteCount) eliteIndices = new int[eliteCount];
+        eliteCount = TopK.indices(fitness, size, eliteCount, eliteIndices);
+        for (int i = 0; i < eliteCount; i++) {
+            newGenomes.add((Genome) genomes[eliteIndices[i]].copy());
         }
+
         // Fill rest with children from crossover+mutation
-        while (newGenomes.size() < populationSize) {
-            List<Target> parents = selectParents(population, 2);
-            Genome child = crossover(parents.get(0).getGenome(), parents.get(1).getGenome());
-            mutate(child);
-            newGenomes.add(child);
+        int children = populationSize - newGenomes.size();
+        if (children <= 0) return newGenomes;
+        if (parents.length < children * 2) parents = new int[children * 2];
+        double[] selectionFitness = fitness;
+        if (speciation != null) {
+            if (sharedFitness.length < size) sharedFitness = new double[size];
+            speciation.share(genomes, fitness, size, sharedFitness);
+            selectionFitness = sharedFitness;
+        }
+        selection.select(selectionFitness, size, children * 2, parents, rand);
+        for (int i = 0; i < children; i++) {
+            double[] childGenes = crossover(genomes[parents[2 * i]], genomes[parents[2 * i + 1]], rand);
+            mutate(childGenes, config, rand);
+            newGenomes.add(new Genome(childGenes));
         }
         return newGenomes;
     }
@@ -86,35 +120,27 @@ public class GeneticAlgorithm {
     /**
      * Single-point crossover: each gene is chosen randomly from either parent.
      */
-    private Genome crossover(Genome g1, Genome g2) {
-        double[] genes1 = g1.getGenes();
-        double[] genes2 = g2.getGenes();
+    static double[] crossover(Genome g1, Genome g2, Random rand) {
+        double[] genes1 = g1.genesView();
+        double[] genes2 = g2.genesView();
         double[] childGenes = new double[genes1.length];
-        Random rand = new Random();
         for (int i = 0; i < childGenes.length; i++) {
             childGenes[i] = rand.nextBoolean() ? genes1[i] : genes2[i];
         }
-        return new Genome(childGenes);
+        return childGenes;
     }
 
     /**
-     * Mutates a genome's genes with Gaussian noise, clamping to valid ranges.
+     * Mutates genes in place with Gaussian noise, clamping to valid ranges.
+     * Works on the raw array because Genome.getGenes() hands out a copy.
      * - First gene is clamped to [0,1] (random movement parameter).
      * - Others are clamped to [-2,2].
      */
-    private void mutate(Genome g) {
-        Random rand = new Random();
-        double[] genes = g.getGenes();
+    static void mutate(double[] genes, GeneticConfig config, Random rand) {
         for (int i = 0; i < genes.length; i++) {
-            if (rand.nextDouble() < MUTATION_RATE) {
-                genes[i] += (rand.nextGaussian() * MUTATION_STRENGTH);
-                // Clamp values for the first gene (random movement) to [0, 1]
-                if (i == 0) {
-                    genes[i] = Math.max(0.0, Math.min(1.0, genes[i]));
-                } else {
-                    genes[i] = Math.max(-2.0, Math.min(2.0, genes[i]));
-                }
+            if (rand.nextDouble() < config.mutationRate()) {
+                genes[i] = Genome.clamp(i, genes[i] + rand.nextGaussian() * config.mutationStrength());
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package ai.genetics;
+
+/**
+ * Tunable parameters of the GeneticAlgorithm.
+ *
+ * @param mutationRate     Probability of mutating a gene (higher = more diversity).
+ * @param mutationStrength Magnitude of mutation change (higher = more disruptive).
+ * @param eliteCount       Number of top genomes preserved unmodified in next generation.
+ * @param tournamentSize   Number of candidates in tournament selection.
+ * @param selection        How parents are picked.
+ * @param speciesRadius    Gene-space distance within which genomes form one species and share fitness; 0 = no speciation.
+ */
+public record GeneticConfig(double mutationRate, double mutationStrength, int eliteCount, int tournamentSize,
+                            Selection selection, double speciesRadius) {
+    public static final GeneticConfig DEFAULT = new GeneticConfig(0.30, 0.35, 3, 3);
+
+    public enum Selection {
+        /** Best of tournamentSize random individuals; O(tournamentSize) per parent. */
+        TOURNAMENT,
+        /** Fitness-proportionate, all parents from one spin with equally spaced pointers; O(n) per generation. */
+        STOCHASTIC_UNIVERSAL,
+        /** Fitness-proportionate via Vose's alias table; O(n) build, O(1) per parent. */
+        ALIAS_ROULETTE
+    }
+
+    public GeneticConfig {
+        if (mutationRate < 0 || mutationRate > 1) throw new IllegalArgumentException("mutationRate must be in [0,1]: " + mutationRate);
+        if (mutationStrength < 0) throw new IllegalArgumentException("mutationStrength must be >= 0: " + mutationStrength);
+        if (eliteCount < 0) throw new IllegalArgumentException("eliteCount must be >= 0: " + eliteCount);
+        if (tournamentSize < 1) throw new IllegalArgumentException("tournamentSize must be >= 1: " + tournamentSize);
+        if (selection == null) throw new IllegalArgumentException("selection must not be null");
+        if (speciesRadius < 0) throw new IllegalArgumentException("speciesRadius must be >= 0: " + speciesRadius);
+    }
+
+    public GeneticConfig(double mutationRate, double mutationStrength, int eliteCount, int tournamentSize) {
+        this(mutationRate, mutationStrength, eliteCount, tournamentSize, Selection.TOURNAMENT, 0);
+    }
+
+    public GeneticConfig withSelection(Selection selection) {
+        return new GeneticConfig(mutationRate, mutationStrength, eliteCount, tournamentSize, selection, speciesRadius);
+    }
+
+    public GeneticConfig withSpeciation(double speciesRadius) {
+        return new GeneticConfig(mutationRate, mutationStrength, eliteCount, tournamentSize, selection, speciesRadius);
+    }
+}
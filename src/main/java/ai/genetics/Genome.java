@@ -3,17 +3,32 @@ package ai.genetics;
 import java.util.Random;
 
 public class Genome implements IGenome {
-    private static final int GENE_COUNT = 3;
+    public static final int GENE_COUNT = 3;
     private static final Random rand = new Random();
     private final double[] genes;
 
     public Genome() {
+        this(rand);
+    }
+
+    public Genome(Random random) {
         genes = new double[GENE_COUNT];
         for (int i = 0; i < GENE_COUNT; i++) {
-            genes[i] = rand.nextDouble(); // random value in [0,1)
+            genes[i] = random.nextDouble(); // random value in [0,1)
         }
     }
 
+    /**
+     * Clamps a gene value to its valid range:
+     * the first gene (random movement) to [0,1], the others to [-2,2].
+     */
+    public static double clamp(int gene, double value) {
+        if (gene == 0) {
+            return Math.max(0.0, Math.min(1.0, value));
+        }
+        return Math.max(-2.0, Math.min(2.0, value));
+    }
+
     public Genome(double[] genes) {
         this.genes = genes.clone();
     }
@@ -22,6 +37,11 @@ public class Genome implements IGenome {
         return genes.clone();
     }
 
+    // direct access for the GA's hot loops, which only read the array
+    double[] genesView() {
+        return genes;
+    }
+
     public IGenome copy() {
         return new Genome(this.genes);
     }
@@ -0,0 +1,106 @@
+package ai.genetics;
+
+/**
+ * Static k-d tree over genome points, rebuilt once per generation for the speciation radius queries.
+ * Implicit layout: the node of range [lo, hi) is the median at (lo + hi) / 2, split on axis depth % dims,
+ * so the tree is just a permutation of point indices. Build is O(n log n) expected, a radius query
+ * visits O(n^(1 - 1/dims) + matches) nodes instead of all n.
+ * Buffers are reused between builds.
+ */
+final class GenomeKdTree {
+    private int dims;
+    private int size;
+    private double[] points = new double[0];
+    private int[] order = new int[0];
+
+    /**
+     * Builds the tree over genomes[0..size); point i has the coordinates of genomes[i].
+     */
+    void build(Genome[] genomes, int size) {
+        this.size = size;
+        this.dims = size > 0 ? genomes[0].genesView().length : 0;
+        if (points.length < size * dims) points = new double[size * dims];
+        if (order.length < size) order = new int[size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(genomes[i].genesView(), 0, points, i * dims, dims);
+            order[i] = i;
+        }
+        build(0, size, 0);
+    }
+
+    private void build(int lo, int hi, int depth) {
+        while (hi - lo > 1) {
+            int axis = depth % dims;
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, axis);
+            build(lo, mid, depth + 1);
+            lo = mid + 1;
+            depth++;
+        }
+    }
+
+    // quickselect: puts the point with the k-th smallest coordinate on axis at order[k], smaller ones before it
+    private void select(int lo, int hi, int k, int axis) {
+        while (lo < hi) {
+            double pivot = coord(order[(lo + hi) >>> 1], axis);
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (coord(order[i], axis) < pivot) i++;
+                while (coord(order[j], axis) > pivot) j--;
+                if (i <= j) {
+                    int tmp = order[i]; order[i] = order[j]; order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    private double coord(int point, int axis) {
+        return points[point * dims + axis];
+    }
+
+    /**
+     * Writes to out the points within radius of point center that are not yet marked in taken, marks them,
+     * and returns how many were written. out must have room for every unmarked point.
+     */
+    int claimWithin(int center, double radius, boolean[] taken, int[] out) {
+        return claim(0, size, 0, center, radius * radius, taken, out, 0);
+    }
+
+    private int claim(int lo, int hi, int depth, int center, double radius2, boolean[] taken, int[] out, int count) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int node = order[mid];
+            int axis = depth % dims;
+            if (!taken[node] && distance2(node, center) <= radius2) {
+                taken[node] = true;
+                out[count++] = node;
+            }
+            double diff = coord(center, axis) - coord(node, axis);
+            // descend into the side of the split that contains the center; the other side only if the ball crosses it
+            int nearLo = diff < 0 ? lo : mid + 1, nearHi = diff < 0 ? mid : hi;
+            int farLo = diff < 0 ? mid + 1 : lo, farHi = diff < 0 ? hi : mid;
+            if (diff * diff <= radius2) {
+                count = claim(farLo, farHi, depth + 1, center, radius2, taken, out, count);
+            }
+            lo = nearLo;
+            hi = nearHi;
+            depth++;
+        }
+        return count;
+    }
+
+    private double distance2(int a, int b) {
+        double d2 = 0;
+        int oa = a * dims, ob = b * dims;
+        for (int k = 0; k < dims; k++) {
+            double d = points[oa + k] - points[ob + k];
+            d2 += d * d;
+        }
+        return d2;
+    }
+}
@@ -0,0 +1,337 @@
+package ai.genetics;
+
+import model.Target;
+import model.TargetStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * NSGA-II over the separate fitness terms (TargetStore.OBJECTIVE_*, all maximised) instead of their weighted sum.
+ *
+ * Each call merges the evaluated population with the parents kept from the previous call, ranks the merged set
+ * into Pareto fronts, keeps the best populationSize by (front, crowding distance) as the new parents and breeds
+ * the next population from them by crowded binary tournaments, crossover and mutation (GeneticConfig rates).
+ *
+ * Non-dominated sorting uses ENS-BS (Zhang et al., "An Efficient Approach to Non-dominated Sorting"):
+ * solutions are presorted lexicographically, so none can be dominated by a later one, and each solution's front
+ * is found by binary search over the fronts built so far. A dominance check is only made against members of the
+ * probed fronts, which in practice is far below the N^2 comparisons of the naive fast-non-dominated-sort.
+ * All working storage is primitive and reused between generations.
+ */
+public class Nsga2 implements Optimizer {
+    private static final int M = TargetStore.OBJECTIVES;
+
+    private final GeneticConfig config;
+    private final Random rand;
+
+    // parents kept from the previous generation, with their objectives
+    private Genome[] parents = new Genome[0];
+    private double[] parentObjectives = new double[0];
+    private int parentCount = 0;
+
+    // merged set of parents and offspring
+    private Genome[] merged = new Genome[0];
+    private double[] objectives = new double[0];
+    private int[] rank = new int[0];
+    private double[] crowding = new double[0];
+    private int[] order = new int[0];
+    // members of front f are fronts[f][0 .. frontSizes[f])
+    private int[][] fronts = new int[0][];
+    private int[] frontSizes = new int[0];
+    private int frontCount = 0;
+    private int[] selected = new int[0];
+    private int firstFrontSize = 0;
+
+    public Nsga2() {
+        this(GeneticConfig.DEFAULT, new Random());
+    }
+
+    public Nsga2(GeneticConfig config, Random rand) {
+        this.config = config;
+        this.rand = rand;
+    }
+
+    @Override
+    public List<Genome> nextGeneration(List<Target> population, int populationSize) {
+        int size = parentCount + population.size();
+        List<Genome> next = new ArrayList<>(populationSize);
+        if (size == 0) return next;
+        ensureCapacity(size);
+
+        System.arraycopy(parents, 0, merged, 0, parentCount);
+        System.arraycopy(parentObjectives, 0, objectives, 0, parentCount * M);
+        for (int k = 0; k < population.size(); k++) {
+            Target t = population.get(k);
+            merged[parentCount + k] = t.getGenome();
+            for (int m = 0; m < M; m++) {
+                objectives[(parentCount + k) * M + m] = t.getObjective(m);
+            }
+        }
+
+        sortFronts(size);
+        int keep = Math.min(populationSize, size);
+        int chosen = selectSurvivors(keep);
+
+        // survivors become the parents of the next call
+        if (parents.length < chosen) {
+            parents = new Genome[chosen];
+            parentObjectives = new double[chosen * M];
+        }
+        Arrays.fill(parents, null);
+        for (int k = 0; k < chosen; k++) {
+            int s = selected[k];
+            parents[k] = merged[s];
+            System.arraycopy(objectives, s * M, parentObjectives, k * M, M);
+        }
+        parentCount = chosen;
+
+        for (int k = 0; k < populationSize; k++) {
+            Genome a = merged[tournament(chosen)];
+            Genome b = merged[tournament(chosen)];
+            double[] childGenes = GeneticAlgorithm.crossover(a, b, rand);
+            GeneticAlgorithm.mutate(childGenes, config, rand);
+            next.add(new Genome(childGenes));
+        }
+        Arrays.fill(merged, 0, size, null);
+        return next;
+    }
+
+    // crowded binary tournament over the survivors: lower front wins, then larger crowding distance
+    private int tournament(int chosen) {
+        int a = selected[rand.nextInt(chosen)];
+        int b = selected[rand.nextInt(chosen)];
+        if (rank[a] != rank[b]) return rank[a] < rank[b] ? a : b;
+        return crowding[a] >= crowding[b] ? a : b;
+    }
+
+    /**
+     * Fills selected[0..keep) with whole fronts in order, and the best-crowded part of the first front that does not fit.
+     */
+    private int selectSurvivors(int keep) {
+        int count = 0;
+        for (int f = 0; f < frontCount && count < keep; f++) {
+            int[] front = fronts[f];
+            int n = frontSizes[f];
+            crowdingDistance(front, n);
+            if (count + n > keep) {
+                sortByKey(front, 0, n, crowding, 1, 0, true);
+                n = keep - count;
+            }
+            System.arraycopy(front, 0, selected, count, n);
+            count += n;
+        }
+        return count;
+    }
+
+    /**
+     * ENS-BS non-dominated sort of objectives[0..size * M); sets rank[] and the fronts.
+     */
+    void sortFronts(int size) {
+        for (int i = 0; i < size; i++) order[i] = i;
+        sortLexicographic(0, size);
+        frontCount = 0;
+        for (int k = 0; k < size; k++) {
+            int s = order[k];
+            int lo = 0, hi = frontCount;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (dominatedByFront(s, mid)) lo = mid + 1;
+                else hi = mid;
+            }
+            if (lo == frontCount) {
+                if (fronts.length == frontCount) {
+                    fronts = Arrays.copyOf(fronts, Math.max(4, frontCount * 2));
+                    frontSizes = Arrays.copyOf(frontSizes, fronts.length);
+                }
+                if (fronts[frontCount] == null || fronts[frontCount].length < size) {
+                    fronts[frontCount] = new int[Math.max(16, size)];
+                }
+                frontSizes[frontCount++] = 0;
+            }
+            fronts[lo][frontSizes[lo]++] = s;
+            rank[s] = lo;
+        }
+        firstFrontSize = frontCount > 0 ? frontSizes[0] : 0;
+    }
+
+    /**
+     * Sorts size objective vectors laid out like objectives[] (M values each) and returns each one's front.
+     */
+    int[] rankFronts(double[] values, int size) {
+        ensureCapacity(size);
+        System.arraycopy(values, 0, objectives, 0, size * M);
+        sortFronts(size);
+        return Arrays.copyOf(rank, size);
+    }
+
+    // the most recently added members are the most similar to s, so they are checked first
+    private boolean dominatedByFront(int s, int f) {
+        int[] front = fronts[f];
+        for (int k = frontSizes[f] - 1; k >= 0; k--) {
+            if (dominates(front[k], s)) return true;
+        }
+        return false;
+    }
+
+    /** a dominates b: at least as good in every objective and better in one (maximisation). */
+    private boolean dominates(int a, int b) {
+        boolean better = false;
+        int oa = a * M, ob = b * M;
+        for (int m = 0; m < M; m++) {
+            double va = objectives[oa + m], vb = objectives[ob + m];
+            if (va < vb) return false;
+            if (va > vb) better = true;
+        }
+        return better;
+    }
+
+    private void crowdingDistance(int[] front, int n) {
+        for (int k = 0; k < n; k++) crowding[front[k]] = 0;
+        if (n <= 2) {
+            for (int k = 0; k < n; k++) crowding[front[k]] = Double.POSITIVE_INFINITY;
+            return;
+        }
+        for (int m = 0; m < M; m++) {
+            sortByKey(front, 0, n, objectives, M, m, false);
+            double min = objectives[front[0] * M + m];
+            double max = objectives[front[n - 1] * M + m];
+            crowding[front[0]] = Double.POSITIVE_INFINITY;
+            crowding[front[n - 1]] = Double.POSITIVE_INFINITY;
+            double range = max - min;
+            if (range <= 0) continue;
+            for (int k = 1; k < n - 1; k++) {
+                crowding[front[k]] += (objectives[front[k + 1] * M + m] - objectives[front[k - 1] * M + m]) / range;
+            }
+        }
+    }
+
+    // order[from..to) descending by objectives, lexicographically (objective 0 first)
+    private void sortLexicographic(int from, int to) {
+        while (to - from > 16) {
+            int p = order[(from + to) >>> 1];
+            int i = from, j = to - 1;
+            while (i <= j) {
+                while (compareLex(order[i], p) < 0) i++;
+                while (compareLex(order[j], p) > 0) j--;
+                if (i <= j) {
+                    int tmp = order[i]; order[i] = order[j]; order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (j - from < to - i) {
+                sortLexicographic(from, j + 1);
+                from = i;
+            } else {
+                sortLexicographic(i, to);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            int v = order[i];
+            int j = i - 1;
+            while (j >= from && compareLex(order[j], v) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = v;
+        }
+    }
+
+    // negative if a comes first (is lexicographically larger)
+    private int compareLex(int a, int b) {
+        for (int m = 0; m < M; m++) {
+            int c = Double.compare(objectives[b * M + m], objectives[a * M + m]);
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    // sorts idx[from..to) by keys[idx * stride + offset], ascending or descending (insertion sort for small ranges)
+    private static void sortByKey(int[] idx, int from, int to, double[] keys, int stride, int offset, boolean descending) {
+        while (to - from > 16) {
+            double pivot = keys[idx[(from + to) >>> 1] * stride + offset];
+            int i = from, j = to - 1;
+            while (i <= j) {
+                while (before(keys[idx[i] * stride + offset], pivot, descending)) i++;
+                while (before(pivot, keys[idx[j] * stride + offset], descending)) j--;
+                if (i <= j) {
+                    int tmp = idx[i]; idx[i] = idx[j]; idx[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (j - from < to - i) {
+                sortByKey(idx, from, j + 1, keys, stride, offset, descending);
+                from = i;
+            } else {
+                sortByKey(idx, i, to, keys, stride, offset, descending);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            int v = idx[i];
+            double key = keys[v * stride + offset];
+            int j = i - 1;
+            while (j >= from && before(key, keys[idx[j] * stride + offset], descending)) {
+                idx[j + 1] = idx[j];
+                j--;
+            }
+            idx[j + 1] = v;
+        }
+    }
+
+    private static boolean before(double a, double b, boolean descending) {
+        return descending ? a > b : a < b;
+    }
+
+    private void ensureCapacity(int size) {
+        if (merged.length >= size) return;
+        merged = new Genome[size];
+        objectives = new double[size * M];
+        rank = new int[size];
+        crowding = new double[size];
+        order = new int[size];
+        selected = new int[size];
+        for (int f = 0; f < fronts.length; f++) fronts[f] = null;
+    }
+
+    /** Number of Pareto fronts in the last merged set. */
+    public int getFrontCount() {
+        return frontCount;
+    }
+
+    /** Size of the first (non-dominated) front in the last merged set. */
+    public int getParetoFrontSize() {
+        return firstFrontSize;
+    }
+
+    /**
+     * Genomes of the current parents that are on the Pareto front, i.e. the trade-offs between the objectives
+     * that no other kept strategy beats on every one.
+     */
+    public List<Genome> getParetoFront() {
+        List<Genome> front = new ArrayList<>();
+        for (int k = 0; k < parentCount; k++) {
+            boolean dominated = false;
+            for (int j = 0; j < parentCount && !dominated; j++) {
+                dominated = j != k && dominatesParent(j, k);
+            }
+            if (!dominated) front.add(parents[k]);
+        }
+        return front;
+    }
+
+    private boolean dominatesParent(int a, int b) {
+        boolean better = false;
+        for (int m = 0; m < M; m++) {
+            double va = parentObjectives[a * M + m], vb = parentObjectives[b * M + m];
+            if (va < vb) return false;
+            if (va > vb) better = true;
+        }
+        return better;
+    }
+}
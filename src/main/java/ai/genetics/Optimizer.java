@@ -0,0 +1,18 @@
+package ai.genetics;
+
+import model.Target;
+
+import java.util.List;
+
+/**
+ * Produces the genomes of the next generation from the evaluated current one.
+ * Implementations may keep state between calls (e.g. a search distribution), so one instance drives one run.
+ */
+public interface Optimizer {
+    /**
+     * @param population     Current population of Targets (fitness and genomes); must not be modified
+     * @param populationSize Desired size of next generation
+     * @return List of Genomes for the next generation
+     */
+    List<Genome> nextGeneration(List<Target> population, int populationSize);
+}
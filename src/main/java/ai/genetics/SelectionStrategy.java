@@ -0,0 +1,40 @@
+package ai.genetics;
+
+import java.util.Random;
+
+/**
+ * Picks parent indices from a fitness array.
+ * Implementations write straight into a primitive index array so no per-child objects are allocated.
+ */
+public interface SelectionStrategy {
+    /**
+     * Writes count indices into fitness (the chosen parents) to out[0..count).
+     */
+    void select(double[] fitness, int size, int count, int[] out, Random rand);
+
+    static SelectionStrategy of(GeneticConfig config) {
+        return switch (config.selection()) {
+            case TOURNAMENT -> new TournamentSelection(config.tournamentSize());
+            case STOCHASTIC_UNIVERSAL -> new StochasticUniversalSampling();
+            case ALIAS_ROULETTE -> new AliasRouletteSelection();
+        };
+    }
+
+    /**
+     * Converts fitness (which can be negative) into non-negative roulette weights by shifting the minimum to a
+     * small positive value, so even the worst individual keeps a tiny chance.
+     */
+    static double[] rouletteWeights(double[] fitness, int size, double[] buffer) {
+        double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, fitness[i]);
+            max = Math.max(max, fitness[i]);
+        }
+        double floor = Math.max(1e-9, (max - min) * 1e-3);
+        double[] weights = buffer != null && buffer.length >= size ? buffer : new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = fitness[i] - min + floor;
+        }
+        return weights;
+    }
+}
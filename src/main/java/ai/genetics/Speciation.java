@@ -0,0 +1,58 @@
+package ai.genetics;
+
+import java.util.Arrays;
+
+/**
+ * Clusters a generation into species by gene-space distance and shares fitness within each species,
+ * so a crowd of near-identical genomes cannot take over selection from a smaller, different strategy.
+ * - Leaders are taken best fitness first; each claims every unassigned genome within speciesRadius of itself.
+ * - Shared fitness is (fitness - worst) / species size, shifted so that sharing never rewards a negative score.
+ * Radius queries go through a GenomeKdTree built once per generation, so a generation costs
+ * O(n log n) plus the species sizes rather than n^2 pairwise distances.
+ */
+final class Speciation {
+    private final double radius;
+    private final GenomeKdTree tree = new GenomeKdTree();
+
+    // buffers reused between generations
+    private int[] byFitness = new int[0];
+    private int[] members = new int[0];
+    private boolean[] taken = new boolean[0];
+    private int speciesCount = 0;
+
+    Speciation(double radius) {
+        this.radius = radius;
+    }
+
+    /**
+     * Writes the shared fitness of genomes[0..size) to shared and returns the number of species.
+     */
+    int share(Genome[] genomes, double[] fitness, int size, double[] shared) {
+        if (byFitness.length < size) {
+            byFitness = new int[size];
+            members = new int[size];
+            taken = new boolean[size];
+        }
+        Arrays.fill(taken, 0, size, false);
+        tree.build(genomes, size);
+        TopK.indices(fitness, size, size, byFitness);
+
+        double worst = size > 0 ? fitness[byFitness[size - 1]] : 0;
+        speciesCount = 0;
+        for (int k = 0; k < size; k++) {
+            int leader = byFitness[k];
+            if (taken[leader]) continue;
+            int n = tree.claimWithin(leader, radius, taken, members);
+            for (int m = 0; m < n; m++) {
+                int i = members[m];
+                shared[i] = (fitness[i] - worst) / n;
+            }
+            speciesCount++;
+        }
+        return speciesCount;
+    }
+
+    int getSpeciesCount() {
+        return speciesCount;
+    }
+}
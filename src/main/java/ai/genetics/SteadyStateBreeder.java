@@ -0,0 +1,109 @@
+package ai.genetics;
+
+import model.Target;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Produces one offspring at a time for steady-state evolution, where a dead target is replaced
+ * immediately instead of waiting for the whole generation to die.
+ * Parents come from tournaments over the FitnessIndex of recently finished lives plus the live population
+ * (scored by the fitness gathered so far), so a long-lived dodger breeds without having to die first.
+ * Crossover and mutation are the GeneticAlgorithm's.
+ */
+public class SteadyStateBreeder {
+    // rejection draws before pickCandidate counts the live targets instead
+    private static final int MAX_DRAWS = 16;
+
+    private final GeneticConfig config;
+    private final FitnessIndex archive;
+    private final Random rand;
+
+    public SteadyStateBreeder(GeneticConfig config, int archiveCapacity, Random rand) {
+        this(config, archiveCapacity, 4L * archiveCapacity, rand);
+    }
+
+    /**
+     * @param archiveWindow Deaths an archived life stays eligible as a parent (see FitnessIndex)
+     */
+    public SteadyStateBreeder(GeneticConfig config, int archiveCapacity, long archiveWindow, Random rand) {
+        this.config = config;
+        this.archive = new FitnessIndex(archiveCapacity, archiveWindow);
+        this.rand = rand;
+    }
+
+    /**
+     * Archives a finished life.
+     */
+    public void recordDeath(Genome genome, double fitness) {
+        archive.add(genome, fitness);
+    }
+
+    /**
+     * Breeds one child from two tournaments over the archive and the live targets of population.
+     * Dead targets in the list are skipped: their lives are already in the archive (or about to be).
+     * O(tournamentSize) expected while most of the population is alive.
+     */
+    public Genome breed(List<Target> population) {
+        Genome a = tournament(population);
+        Genome b = a != null ? tournament(population) : null;
+        if (b == null) {
+            return new Genome(rand);
+        }
+        double[] childGenes = GeneticAlgorithm.crossover(a, b, rand);
+        GeneticAlgorithm.mutate(childGenes, config, rand);
+        return new Genome(childGenes);
+    }
+
+    // best of tournamentSize candidates; null if there is no candidate at all
+    private Genome tournament(List<Target> population) {
+        int pool = archive.size() + population.size();
+        Genome best = null;
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < config.tournamentSize(); i++) {
+            int pick = pickCandidate(population, pool);
+            if (pick < 0) return null;
+            Genome genome;
+            double fitness;
+            if (pick < archive.size()) {
+                genome = archive.getGenome(pick);
+                fitness = archive.getFitness(pick);
+            } else {
+                Target t = population.get(pick - archive.size());
+                genome = t.getGenome();
+                fitness = t.getFitness();
+            }
+            if (best == null || fitness > bestFitness) {
+                best = genome;
+                bestFitness = fitness;
+            }
+        }
+        return best;
+    }
+
+    // uniform over archive entries and live targets, by rejection; falls back to a scan when most targets are dead
+    private int pickCandidate(List<Target> population, int pool) {
+        if (pool == 0) return -1;
+        for (int attempt = 0; attempt < MAX_DRAWS; attempt++) {
+            int pick = rand.nextInt(pool);
+            if (pick < archive.size() || population.get(pick - archive.size()).isAlive()) return pick;
+        }
+        int live = 0;
+        for (Target t : population) {
+            if (t.isAlive()) live++;
+        }
+        if (archive.size() + live == 0) return -1;
+        int pick = rand.nextInt(archive.size() + live);
+        if (pick < archive.size()) return pick;
+        pick -= archive.size();
+        for (int k = 0; k < population.size(); k++) {
+            if (population.get(k).isAlive() && pick-- == 0) return archive.size() + k;
+        }
+        return -1;
+    }
+
+    public FitnessIndex getArchive() {
+        return archive;
+    }
+}
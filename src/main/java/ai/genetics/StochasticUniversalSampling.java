@@ -0,0 +1,40 @@
+package ai.genetics;
+
+import java.util.Random;
+
+/**
+ * Stochastic universal sampling: one spin of a roulette wheel with count equally spaced pointers.
+ * O(n + count) for the whole batch, and the number of copies of each individual stays within one of its
+ * expected value (lower variance than independent roulette spins).
+ * The result is shuffled so consecutive entries can be paired as mates.
+ */
+public class StochasticUniversalSampling implements SelectionStrategy {
+    private double[] weights;
+
+    @Override
+    public void select(double[] fitness, int size, int count, int[] out, Random rand) {
+        weights = SelectionStrategy.rouletteWeights(fitness, size, weights);
+        double total = 0;
+        for (int i = 0; i < size; i++) total += weights[i];
+
+        double step = total / count;
+        double pointer = rand.nextDouble() * step;
+        double cumulative = weights[0];
+        int index = 0;
+        for (int i = 0; i < count; i++) {
+            while (cumulative < pointer && index < size - 1) {
+                index++;
+                cumulative += weights[index];
+            }
+            out[i] = index;
+            pointer += step;
+        }
+        // Fisher-Yates shuffle, otherwise mates would always be neighbours in population order
+        for (int i = count - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int tmp = out[i];
+            out[i] = out[j];
+            out[j] = tmp;
+        }
+    }
+}
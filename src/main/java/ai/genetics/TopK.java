@@ -0,0 +1,61 @@
+package ai.genetics;
+
+/**
+ * Partial selection of the k largest values without sorting (or touching) the input.
+ * Uses a size-k min-heap of indices: O(n log k) time, O(k) extra space.
+ */
+public final class TopK {
+    private TopK() {
+    }
+
+    /**
+     * Writes the indices of the k largest values of values[0..size) to out, best first, and returns how many were written.
+     */
+    public static int indices(double[] values, int size, int k, int[] out) {
+        k = Math.min(k, size);
+        if (k <= 0) return 0;
+        int[] heap = out;
+        int heapSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (heapSize < k) {
+                heap[heapSize] = i;
+                siftUp(values, heap, heapSize++);
+            } else if (values[i] > values[heap[0]]) {
+                heap[0] = i;
+                siftDown(values, heap, 0, heapSize);
+            }
+        }
+        // heapsort in place: repeatedly move the current minimum to the end -> descending order
+        for (int end = heapSize - 1; end > 0; end--) {
+            int tmp = heap[0];
+            heap[0] = heap[end];
+            heap[end] = tmp;
+            siftDown(values, heap, 0, end);
+        }
+        return heapSize;
+    }
+
+    private static void siftUp(double[] values, int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (values[heap[i]] >= values[heap[parent]]) break;
+            int tmp = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(double[] values, int[] heap, int i, int size) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int smallest = left + 1 < size && values[heap[left + 1]] < values[heap[left]] ? left + 1 : left;
+            if (values[heap[smallest]] >= values[heap[i]]) break;
+            int tmp = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = tmp;
+            i = smallest;
+        }
+    }
+}
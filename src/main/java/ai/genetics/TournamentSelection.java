@@ -0,0 +1,28 @@
+package ai.genetics;
+
+import java.util.Random;
+
+/**
+ * Tournament selection: randomly samples tournamentSize individuals and picks the fittest, once per parent.
+ */
+public class TournamentSelection implements SelectionStrategy {
+    private final int tournamentSize;
+
+    public TournamentSelection(int tournamentSize) {
+        this.tournamentSize = tournamentSize;
+    }
+
+    @Override
+    public void select(double[] fitness, int size, int count, int[] out, Random rand) {
+        for (int i = 0; i < count; i++) {
+            int best = rand.nextInt(size);
+            for (int j = 1; j < tournamentSize; j++) {
+                int candidate = rand.nextInt(size);
+                if (fitness[candidate] > fitness[best]) {
+                    best = candidate;
+                }
+            }
+            out[i] = best;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package game;
+
+import model.Shot;
+import model.Target;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Scripted player for headless runs: fires volleys at random live targets on a fixed cadence.
+ * The firing angle is found by simulating the shot's ballistic path for a fan of candidate angles
+ * and keeping the one that passes closest to the target; Gaussian aim error is added on top.
+ */
+public class AutoShooter {
+    private static final int ANGLE_CANDIDATES = 24;
+    private static final int MAX_TRAJECTORY_STEPS = 90;
+
+    private final Random rand;
+    private final int fireInterval;
+    private final int burstSize;
+    private final double aimError;
+    private int cooldown;
+
+    /**
+     * @param seed         Seed for target choice, power and aim error
+     * @param fireInterval Ticks between volleys
+     * @param burstSize    Shots per volley
+     * @param aimError     Standard deviation of the aim error in degrees
+     */
+    public AutoShooter(long seed, int fireInterval, int burstSize, double aimError) {
+        this.rand = new Random(seed);
+        this.fireInterval = fireInterval;
+        this.burstSize = burstSize;
+        this.aimError = aimError;
+        this.cooldown = fireInterval;
+    }
+
+    public void tick(GameEngine engine) {
+        if (!engine.isRunningRound() || --cooldown > 0) return;
+        cooldown = fireInterval;
+
+        List<Target> population = engine.getPopulation();
+        int alive = 0;
+        for (Target t : population) {
+            if (t.isAlive()) alive++;
+        }
+        if (alive == 0) return;
+
+        for (int i = 0; i < burstSize; i++) {
+            Target target = pickAlive(population, rand.nextInt(alive));
+            float power = 0.6f + rand.nextFloat() * 0.4f;
+            double angle = solveAngle(target.getX(), target.getY(), power, engine.getWorldWidth(), engine.getWorldHeight())
+                    + Math.toRadians(rand.nextGaussian() * aimError);
+            double shooterY = engine.getWorldHeight();
+            engine.fireShotAtWithPower(Math.cos(angle) * 100, shooterY + Math.sin(angle) * 100, power);
+        }
+    }
+
+    private static Target pickAlive(List<Target> population, int index) {
+        for (Target t : population) {
+            if (t.isAlive() && index-- == 0) return t;
+        }
+        throw new IllegalStateException("no live target at index");
+    }
+
+    // angles are screen angles: 0 is right, -PI/2 is straight up
+    private static double solveAngle(double targetX, double targetY, float power, int worldWidth, int worldHeight) {
+        double speed = Shot.MIN_SPEED + (Shot.MAX_SPEED - Shot.MIN_SPEED) * power;
+        double bestAngle = -Math.PI / 4;
+        double bestDist2 = Double.MAX_VALUE;
+        for (int i = 0; i < ANGLE_CANDIDATES; i++) {
+            double angle = -Math.PI / 2 * (i + 0.5) / ANGLE_CANDIDATES;
+            double vx = Math.cos(angle) * speed, vy = Math.sin(angle) * speed;
+            double px = 0, py = worldHeight;
+            for (int step = 0; step < MAX_TRAJECTORY_STEPS; step++) {
+                vx *= Shot.DRAG;
+                vy *= Shot.DRAG;
+                vy += Shot.GRAVITY;
+                px += vx;
+                py += vy;
+                double dx = px - targetX, dy = py - targetY;
+                double dist2 = dx * dx + dy * dy;
+                if (dist2 < bestDist2) {
+                    bestDist2 = dist2;
+                    bestAngle = angle;
+                }
+                if (px > worldWidth || py > worldHeight) break;
+            }
+        }
+        return bestAngle;
+    }
+}
@@ -0,0 +1,58 @@
+package game;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.function.Predicate;
+
+/**
+ * Offscreen image for a layer that rarely changes (background, HUD).
+ * The layer is only re-rendered after invalidate() or a size change; otherwise
+ * painting it is a single image blit clipped to the current repaint region.
+ */
+class CachedLayer {
+    private final int transparency;
+    // renders the layer; returns false if it is incomplete (e.g. image still loading) and must be retried
+    private final Predicate<Graphics2D> renderer;
+    private BufferedImage image;
+    private boolean valid = false;
+
+    CachedLayer(int transparency, Predicate<Graphics2D> renderer) {
+        this.transparency = transparency;
+        this.renderer = renderer;
+    }
+
+    void invalidate() {
+        valid = false;
+    }
+
+    void paint(Graphics g, GraphicsConfiguration gc, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = createImage(gc, width, height);
+            valid = false;
+        }
+        if (!valid) {
+            Graphics2D g2d = image.createGraphics();
+            if (transparency != Transparency.OPAQUE) {
+                g2d.setComposite(AlphaComposite.Clear);
+                g2d.fillRect(0, 0, width, height);
+                g2d.setComposite(AlphaComposite.SrcOver);
+            }
+            valid = renderer.test(g2d);
+            g2d.dispose();
+        }
+        g.drawImage(image, 0, 0, null);
+    }
+
+    private BufferedImage createImage(GraphicsConfiguration gc, int width, int height) {
+        if (gc != null) {
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        return new BufferedImage(width, height, type);
+    }
+}
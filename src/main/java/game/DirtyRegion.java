@@ -0,0 +1,156 @@
+package game;
+
+import javax.swing.JComponent;
+import java.awt.Rectangle;
+
+/**
+ * Accumulates the areas touched by moving entities during one tick, in world coordinates.
+ * The areas are kept as a few disjoint rectangles: overlapping ones are merged, and past MAX_RECTS the two
+ * whose union grows least are merged, so entities far apart do not drag the whole space between them in.
+ * A flush paints each rectangle of last frame and this frame on its own, or the whole component once they
+ * cover more than FULL_REPAINT_COVERAGE of it.
+ */
+class DirtyRegion {
+    static final int MAX_RECTS = 8;
+    static final double FULL_REPAINT_COVERAGE = 0.5;
+
+    private RectSet previous = new RectSet();
+    private RectSet current = new RectSet();
+    private final RectSet frame = new RectSet();
+    private final Rectangle view = new Rectangle();
+    private final Rectangle paintRect = new Rectangle();
+    private boolean fullRepaint = true;
+
+    void add(Rectangle r) {
+        if (r.isEmpty()) return;
+        current.add(r.x, r.y, r.width, r.height);
+    }
+
+    void add(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        current.add(x, y, width, height);
+    }
+
+    /** Forces the next flush to repaint the whole component (round reset, new generation, camera move). */
+    void markAll() {
+        fullRepaint = true;
+    }
+
+    /**
+     * Paints last frame's and this frame's entity bounds, then starts a new frame.
+     * (cameraX, cameraY) is the world position of the component's top left corner.
+     * Called on the event dispatch thread: each rectangle is painted immediately, since repaint requests for
+     * one component would be coalesced by the RepaintManager into their bounding box again.
+     */
+    void flush(JComponent component, int cameraX, int cameraY) {
+        if (fullRepaint) {
+            fullRepaint = false;
+            component.repaint();
+        } else {
+            frame.clear();
+            frame.addAll(previous);
+            frame.addAll(current);
+            view.setBounds(cameraX, cameraY, component.getWidth(), component.getHeight());
+            if (frame.coveredArea(view) > FULL_REPAINT_COVERAGE * view.width * view.height) {
+                component.repaint();
+            } else {
+                for (int k = 0; k < frame.count; k++) {
+                    Rectangle r = frame.rects[k];
+                    if (!r.intersects(view)) continue;
+                    paintRect.setBounds(r.x - cameraX - 1, r.y - cameraY - 1, r.width + 2, r.height + 2);
+                    component.paintImmediately(paintRect);
+                }
+            }
+        }
+        RectSet swap = previous;
+        previous = current;
+        current = swap;
+        current.clear();
+    }
+
+    /** Up to MAX_RECTS pairwise disjoint rectangles, preallocated so a tick does not allocate. */
+    private static final class RectSet {
+        final Rectangle[] rects = new Rectangle[MAX_RECTS];
+        int count = 0;
+        private final Rectangle candidate = new Rectangle();
+        private final Rectangle union = new Rectangle();
+
+        RectSet() {
+            for (int k = 0; k < MAX_RECTS; k++) {
+                rects[k] = new Rectangle();
+            }
+        }
+
+        void clear() {
+            count = 0;
+        }
+
+        void addAll(RectSet other) {
+            for (int k = 0; k < other.count; k++) {
+                Rectangle r = other.rects[k];
+                add(r.x, r.y, r.width, r.height);
+            }
+        }
+
+        void add(int x, int y, int width, int height) {
+            candidate.setBounds(x, y, width, height);
+            // absorb every rectangle the candidate overlaps; each merge can reach new ones, so rescan
+            while (true) {
+                int overlap = -1;
+                for (int k = 0; k < count; k++) {
+                    if (rects[k].intersects(candidate)) {
+                        overlap = k;
+                        break;
+                    }
+                }
+                if (overlap < 0) {
+                    if (count < MAX_RECTS) {
+                        rects[count++].setBounds(candidate);
+                        return;
+                    }
+                    overlap = leastGrowth();
+                }
+                candidate.add(rects[overlap]);
+                remove(overlap);
+            }
+        }
+
+        // the rectangle whose union with the candidate adds the least area
+        private int leastGrowth() {
+            int best = 0;
+            long bestGrowth = Long.MAX_VALUE;
+            for (int k = 0; k < count; k++) {
+                union.setBounds(candidate);
+                union.add(rects[k]);
+                long growth = area(union) - area(candidate) - area(rects[k]);
+                if (growth < bestGrowth) {
+                    bestGrowth = growth;
+                    best = k;
+                }
+            }
+            return best;
+        }
+
+        private void remove(int k) {
+            Rectangle removed = rects[k];
+            rects[k] = rects[--count];
+            rects[count] = removed;
+        }
+
+        // the rectangles are disjoint, so their clipped areas add up to the area of their union
+        long coveredArea(Rectangle view) {
+            long total = 0;
+            for (int k = 0; k < count; k++) {
+                Rectangle r = rects[k];
+                long w = Math.min(r.x + r.width, view.x + view.width) - Math.max(r.x, view.x);
+                long h = Math.min(r.y + r.height, view.y + view.height) - Math.max(r.y, view.y);
+                if (w > 0 && h > 0) total += w * h;
+            }
+            return total;
+        }
+
+        private static long area(Rectangle r) {
+            return (long) r.width * r.height;
+        }
+    }
+}
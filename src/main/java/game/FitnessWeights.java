@@ -0,0 +1,18 @@
+package game;
+
+/**
+ * Weights of the per-tick fitness terms applied in GameEngine.updateShotsAndTargets().
+ *
+ * @param survival          Reward per tick alive.
+ * @param nearMiss          Numerator of the near-miss reward nearMiss / (distance + 10).
+ * @param nearMissRadius    Shots closer than this (but not hitting) count as near misses.
+ * @param clustering        Penalty per other live target closer than sqrt(clusterDistance2).
+ * @param clusterDistance2  Squared distance below which two targets count as clustered.
+ * @param movement          Factor applied to the distance moved this tick (negative = penalty).
+ * @param hotZone           Numerator of the hot zone reward hotZone / (1 + shot density).
+ * @param death             Fitness added once when the target is hit.
+ */
+public record FitnessWeights(double survival, double nearMiss, double nearMissRadius, double clustering,
+                             double clusterDistance2, double movement, double hotZone, double death) {
+    public static final FitnessWeights DEFAULT = new FitnessWeights(1.0, 8.0, 100, -0.5, 1200, -0.2, 1.0, -10.0);
+}
@@ -1,155 +1,805 @@
 package game;
 
+import ai.GenerationStats;
 import ai.genetics.GeneticAlgorithm;
+import ai.genetics.GeneticConfig;
 import ai.genetics.Genome;
+import ai.genetics.Optimizer;
+import ai.genetics.SteadyStateBreeder;
+import game.events.GameEventRing;
+import game.events.GameEventType;
+import game.world.AiScheduler;
+import game.world.ChunkGrid;
 import model.Shot;
 import model.Target;
+import model.TargetKernel;
+import model.TargetStore;
+import ai.DangerField;
 import ai.ShotHistory;
-import utils.SoundManager;
+import utils.TelemetryLog;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class GameEngine {
     public static final int POPULATION = 1; // Increased for diversity
     public static final int FIELD_WIDTH = 800;
     public static final int FIELD_HEIGHT = 600;
     public static final int SHOTS_PER_ROUND = 30;
+    private static final int TELEMETRY_TOP_K = 5;
+    private static final int EVENT_CAPACITY = 4096;
 
+    // population.get(i) is a view of slot i of store
     private List<Target> population;
+    private TargetStore store;
+    // back buffer: the targets of the generation before last, respawned in place for the next one
+    private List<Target> nextPopulation = new ArrayList<>();
+    private TargetStore nextStore = new TargetStore();
+    // batched AI and scoring over the targets of one chunk
+    private final TargetKernel kernel = TargetKernel.create();
     private ShotHistory shotHistory;
-    private GeneticAlgorithm ga;
+    private final Optimizer optimizer;
+    private final FitnessWeights weights;
     private int generation;
     private Random rand;
     private int roundShotsFired;
     private boolean runningRound;
     private List<Shot> activeShots = new ArrayList<>();
-    private int populationSize = 1;
+    private final int worldWidth;
+    private final int worldHeight;
+    // rebuilt every tick; only live targets are indexed
+    private final ChunkGrid targetGrid;
+    private final ChunkGrid shotGrid;
+    private int[] indexIds = new int[64];
+    private int[] indexXs = new int[64];
+    private int[] indexYs = new int[64];
+    // level-of-detail AI; null runs every target's full AI every tick
+    private AiScheduler aiScheduler;
+    // shared danger map targets steer by; null makes every target scan the shots around it
+    private DangerField dangerField;
+    // targets that stay in the arena without thinking or being scored, by index; null when every target plays
+    private boolean[] decoys;
+    // per-chunk kernel inputs and outputs, reused between chunks: the chunk's targets, the shots and
+    // live targets in the 3x3 chunks around it, and the proximity fitness terms
+    private int[] groupIds = new int[64];
+    private double[] nearShotXs = new double[64];
+    private double[] nearShotYs = new double[64];
+    private int nearShotCount;
+    private double[] neighbourXs = new double[64];
+    private double[] neighbourYs = new double[64];
+    private int neighbourCount;
+    private double[] nearMissOut = new double[64];
+    private int[] clusterOut = new int[64];
+    private int populationSize;
+    // the interactive game adds one target per generation; headless runs keep the size fixed
+    private final boolean growPopulation;
+    // when false, the end of a round is left to the caller (multi-episode evaluation)
+    private boolean autoEvolve = true;
+    private TelemetryLog telemetry;
+    private GenerationStats lastGenerationStats;
+    // when true, the end of a round hands evolution to a background thread instead of running it inside the tick
+    private boolean asyncEvolve = false;
+    private ExecutorService evolutionExecutor;
+    private Future<GenerationStats> pendingGeneration;
+    // steady-state mode: dead targets are replaced on the spot, a "generation" is populationSize births
+    private SteadyStateBreeder breeder;
+    private GenerationStats steadyStats;
+    private int births;
+    private int[] deadIds = new int[16];
+    private int deadCount;
+    // side effects (audio, explosions, telemetry) subscribe here instead of being called from the simulation
+    private final GameEventRing events = new GameEventRing(EVENT_CAPACITY);
 
     public GameEngine() {
-        ga = new GeneticAlgorithm();
-        rand = new Random();
+        this(GeneticConfig.DEFAULT, FitnessWeights.DEFAULT, POPULATION, true, new Random().nextLong());
+    }
+
+    /**
+     * @param config         Genetic algorithm parameters
+     * @param weights        Fitness weights
+     * @param populationSize Initial number of targets
+     * @param growPopulation Add one target per generation (interactive mode)
+     * @param seed           Seed for every random decision of the simulation (positions, AI jitter, evolution)
+     */
+    public GameEngine(GeneticConfig config, FitnessWeights weights, int populationSize, boolean growPopulation, long seed) {
+        this(new GeneticAlgorithm(config, new Random(seed ^ 0x5DEECE66DL)), weights, populationSize, growPopulation, seed);
+    }
+
+    /**
+     * @param optimizer      Produces each next generation (GeneticAlgorithm, CmaEs, ...)
+     * @param weights        Fitness weights
+     * @param populationSize Initial number of targets
+     * @param growPopulation Add one target per generation (interactive mode)
+     * @param seed           Seed for positions and AI jitter; the optimizer brings its own random source
+     */
+    public GameEngine(Optimizer optimizer, FitnessWeights weights, int populationSize, boolean growPopulation, long seed) {
+        this(optimizer, weights, populationSize, growPopulation, seed, FIELD_WIDTH, FIELD_HEIGHT);
+    }
+
+    /**
+     * Same as above on a world of the given size; the window shows an 800x600 viewport of it.
+     */
+    public GameEngine(Optimizer optimizer, FitnessWeights weights, int populationSize, boolean growPopulation, long seed,
+                      int worldWidth, int worldHeight) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.targetGrid = new ChunkGrid(worldWidth, worldHeight);
+        this.shotGrid = new ChunkGrid(worldWidth, worldHeight);
+        rand = new Random(seed);
+        this.optimizer = optimizer;
+        this.weights = weights;
+        this.populationSize = populationSize;
+        this.growPopulation = growPopulation;
         generation = 1;
         resetPopulation();
     }
 
     private void resetPopulation() {
         population = new ArrayList<>();
-        for (int i = 0; i < POPULATION; i++) {
-            Genome g = new Genome();
-            int x = 400 + rand.nextInt(200);
-            int y = 100 + rand.nextInt(400);
-            population.add(new Target(x, y, g));
+        store = new TargetStore(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            population.add(newTarget(store, new Genome(rand)));
+        }
+        shotHistory = new ShotHistory(worldWidth, worldHeight);
+        if (dangerField != null) {
+            dangerField.clear();
         }
-        shotHistory = new ShotHistory(FIELD_WIDTH, FIELD_HEIGHT);
         roundShotsFired = 0;
         runningRound = false;
         activeShots.clear();
     }
 
     public void startRound() {
+        awaitNextGeneration();
         for (Target t : population) {
-            t.reset(FIELD_WIDTH, FIELD_HEIGHT);
+            t.reset(worldWidth, worldHeight);
+        }
+        beginRound();
+    }
+
+    /**
+     * Starts a reproducible round: every target's random source is re-seeded from seed and its index first.
+     */
+    public void startRound(long seed) {
+        awaitNextGeneration();
+        for (int i = 0; i < population.size(); i++) {
+            Target t = population.get(i);
+            t.reseed(seed * 31 + i);
+            t.reset(worldWidth, worldHeight);
+        }
+        beginRound();
+    }
+
+    private void beginRound() {
+        shotHistory = new ShotHistory(worldWidth, worldHeight);
+        if (dangerField != null) {
+            dangerField.clear();
         }
-        shotHistory = new ShotHistory(FIELD_WIDTH, FIELD_HEIGHT);
         roundShotsFired = 0;
         runningRound = true;
         activeShots.clear();
+        indexShots();
+        indexTargets();
     }
 
+    /**
+     * One simulation tick. Targets and shots are bucketed into world chunks first, so every interaction
+     * (threat scan, hits, near misses, clustering) only looks at the 3x3 chunks around an entity and empty
+     * chunks are never visited. All interaction radii are smaller than ChunkGrid.CHUNK_SIZE.
+     */
     public void updateShotsAndTargets() {
-        for (Shot shot : new ArrayList<>(activeShots)) {
+        if (pendingGeneration != null && pendingGeneration.isDone()) {
+            awaitNextGeneration();
+        }
+        for (Shot shot : activeShots) {
             shot.move();
         }
-        activeShots.removeIf(s -> s.x < 0 || s.x > FIELD_WIDTH || s.y < 0 || s.y > FIELD_HEIGHT);
+        activeShots.removeIf(s -> {
+            boolean out = s.x < 0 || s.x > worldWidth || s.y < 0 || s.y > worldHeight;
+            if (out) {
+                // where the shot left the field counts as its landing spot
+                recordLanding(clamp((int) s.x, worldWidth), clamp((int) s.y, worldHeight));
+            }
+            return out;
+        });
+        if (dangerField != null) {
+            dangerField.advance();
+        }
 
-        for (Target tar : population) {
-            tar.update(activeShots, shotHistory, FIELD_WIDTH, FIELD_HEIGHT);
+        indexShots();
+        indexTargets();
+        if (aiScheduler != null) {
+            aiScheduler.beginTick(activeShots);
         }
-        for (Shot shot : new ArrayList<>(activeShots)) {
-            for (Target tar : population) {
-                if (tar.isAlive() && tar.isHit((int) shot.x, (int) shot.y)) {
-                    tar.registerHit();
-                    tar.die();
+        for (int o = 0; o < targetGrid.getOccupiedCount(); o++) {
+            int chunk = targetGrid.getOccupied(o);
+            boolean idle = aiScheduler != null && aiScheduler.tierOf(chunk) == AiScheduler.Tier.IDLE;
+            ensureGroupCapacity(targetGrid.chunkEnd(chunk) - targetGrid.chunkStart(chunk));
+            int thinking = 0;
+            for (int k = targetGrid.chunkStart(chunk); k < targetGrid.chunkEnd(chunk); k++) {
+                int id = targetGrid.get(k);
+                if (isDecoy(id)) continue;
+                if (idle && !aiScheduler.isIdleThinkTick(id)) {
+                    store.coast(id, worldWidth, worldHeight);
+                } else {
+                    groupIds[thinking++] = id;
                 }
             }
+            if (thinking > 0 && dangerField != null) {
+                for (int k = 0; k < thinking; k++) {
+                    store.steer(groupIds[k], dangerField, worldWidth, worldHeight);
+                }
+            } else if (thinking > 0) {
+                for (int k = 0; k < thinking; k++) {
+                    refreshMemoShot(groupIds[k]);
+                }
+                collectNearbyShots(chunk);
+                kernel.think(store, groupIds, thinking, nearShotXs, nearShotYs, nearShotCount,
+                        shotHistory, worldWidth, worldHeight);
+            }
         }
 
-        for (Target target : population) {
-            target.updateHitState();
-            if (target.isAlive()) {
-                target.addFitness(1.0);  // Base fitness for surviving
-
-                // Reward for dodging close calls
-                for (Shot shot : activeShots) {
-                    double distanceX = target.getX() - shot.x;
-                    double distanceY = target.getY() - shot.y;
-                    double distanceToShot = Math.sqrt(distanceX * distanceX + distanceY * distanceY);
-                    if (distanceToShot < 100 && distanceToShot > target.getRadius()) {
-                        target.addFitness(8.0 / (distanceToShot + 10));  // Higher reward for closer dodges
+        indexTargets();
+        deadCount = 0;
+        for (Shot shot : activeShots) {
+            int chunk = targetGrid.chunkAt(shot.x, shot.y);
+            int cx = chunk % targetGrid.getChunksX(), cy = chunk / targetGrid.getChunksX();
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int neighbour = targetGrid.chunkIndex(cx + dx, cy + dy);
+                    if (neighbour < 0) continue;
+                    for (int k = targetGrid.chunkStart(neighbour); k < targetGrid.chunkEnd(neighbour); k++) {
+                        int i = targetGrid.get(k);
+                        if (store.isHit(i, (int) shot.x, (int) shot.y)) {
+                            store.registerHit(i);
+                            recordLanding((int) shot.x, (int) shot.y);
+                            events.publish(GameEventType.TARGET_HIT, store.getX(i), store.getY(i), i);
+                            store.addFitness(i, TargetStore.OBJECTIVE_SURVIVAL, weights.death());
+                            store.setAlive(i, false);
+                            events.publish(GameEventType.TARGET_DIED, store.getX(i), store.getY(i), store.getFitness(i));
+                            if (deadCount == deadIds.length) deadIds = Arrays.copyOf(deadIds, deadCount * 2);
+                            deadIds[deadCount++] = i;
+                        }
                     }
                 }
+            }
+        }
+
+        for (int i = 0; i < store.size(); i++) {
+            store.updateHitState(i);
+        }
+        for (int o = 0; o < targetGrid.getOccupiedCount(); o++) {
+            scoreChunk(targetGrid.getOccupied(o));
+        }
 
-                // Penalize for clustering with other targets
-                for (Target otherTarget : population) {
-                    if (target != otherTarget && otherTarget.isAlive()) {
-                        double distanceX = target.getX() - otherTarget.getX();
-                        double distanceY = target.getY() - otherTarget.getY();
-                        double squaredDistance = distanceX * distanceX + distanceY * distanceY;
-                        if (squaredDistance < 1200) {  // Too close to another target
-                            target.addFitness(-0.5);  // Clustering penalty
+        if (breeder != null) {
+            for (int d = 0; d < deadCount; d++) {
+                replaceDeadTarget(deadIds[d]);
+            }
+            return;
+        }
+
+        // --- Automatic next generation when all targets are dead (decoys do not hold the round open) ---
+        if (runningRound && !hasLivePlayer()) {
+            runningRound = false;
+            if (autoEvolve && asyncEvolve) {
+                evolveInBackground();
+            } else if (autoEvolve) {
+                evolve();
+            }
+        }
+    }
+
+    /**
+     * Steady-state replacement: the dead target's life goes into the breeder's archive and the same
+     * Target object is respawned with a fresh offspring. Every populationSize births close a generation
+     * for statistics and telemetry, so the per-tick cost is proportional to the deaths in that tick.
+     */
+    private void replaceDeadTarget(int index) {
+        Target dead = population.get(index);
+        steadyStats.add(dead.getFitness(), dead.getGenome().getGenes());
+        breeder.recordDeath(dead.getGenome(), dead.getFitness());
+        respawnTarget(dead, breeder.breed(population));
+        dead.reset(worldWidth, worldHeight);
+        if (++births < populationSize) return;
+
+        lastGenerationStats = steadyStats;
+        if (telemetry != null) {
+            telemetry.record(steadyStats);
+        }
+        generation++;
+        if (growPopulation) {
+            populationSize++;
+            Target newcomer = newTarget(store, breeder.breed(population));
+            newcomer.reset(worldWidth, worldHeight);
+            population.add(newcomer);
+        }
+        resetSteadyStats();
+        events.publish(GameEventType.GENERATION_EVOLVED, 0, 0, generation);
+    }
+
+    private void resetSteadyStats() {
+        births = 0;
+        steadyStats = new GenerationStats(generation, populationSize, Genome.GENE_COUNT, TELEMETRY_TOP_K);
+    }
+
+    /**
+     * Scores the live targets of one chunk. The shot and neighbour terms come from the kernel in one batch;
+     * the per-target terms are added here.
+     */
+    private void scoreChunk(int chunk) {
+        ensureGroupCapacity(targetGrid.chunkEnd(chunk) - targetGrid.chunkStart(chunk));
+        int count = 0;
+        for (int k = targetGrid.chunkStart(chunk); k < targetGrid.chunkEnd(chunk); k++) {
+            int id = targetGrid.get(k);
+            if (store.isAlive(id) && !isDecoy(id)) {
+                groupIds[count++] = id;
+            }
+        }
+        if (count == 0) return;
+        collectNearbyShots(chunk);
+        collectNeighbours(chunk);
+        kernel.proximity(store, groupIds, count, nearShotXs, nearShotYs, nearShotCount,
+                weights.nearMissRadius(), weights.nearMiss(),
+                neighbourXs, neighbourYs, neighbourCount, weights.clusterDistance2(),
+                nearMissOut, clusterOut);
+
+        for (int k = 0; k < count; k++) {
+            int i = groupIds[k];
+            store.addFitness(i, TargetStore.OBJECTIVE_SURVIVAL, weights.survival());  // Base fitness for surviving
+            // Reward for dodging close calls (higher reward for closer dodges)
+            store.addFitness(i, TargetStore.OBJECTIVE_NEAR_MISS, nearMissOut[k]);
+            // Penalize for clustering with other targets
+            store.addFitness(i, TargetStore.OBJECTIVE_CLUSTERING, weights.clustering() * clusterOut[k]);
+            // Penalize excessive movement to encourage efficient dodging
+            store.addFitness(i, TargetStore.OBJECTIVE_MOVEMENT, weights.movement() * store.getLastMoveDistance(i));
+            // Reward being far from historical shot locations (hot zones)
+            int historyX = clamp(store.getX(i), worldWidth);
+            int historyY = clamp(store.getY(i), worldHeight);
+            double shotDensity = shotHistory.getDensityAt(historyX, historyY);
+            store.addFitness(i, TargetStore.OBJECTIVE_HOT_ZONE, weights.hotZone() / (1.0 + shotDensity));  // Inverse relationship to shot density
+        }
+    }
+
+    /**
+     * Landings only feed the danger field's heat layer. ShotHistory is deliberately left unrecorded, as it always
+     * has been: recording it would switch on the history drift in TargetStore.move() and change every target's
+     * movement, which belongs in a change of its own.
+     */
+    private void recordLanding(int x, int y) {
+        if (dangerField != null) {
+            dangerField.recordLanding(x, y);
+        }
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    private void ensureIndexCapacity(int count) {
+        if (indexIds.length < count) {
+            int size = Math.max(count, indexIds.length * 2);
+            indexIds = new int[size];
+            indexXs = new int[size];
+            indexYs = new int[size];
+        }
+    }
+
+    private void indexTargets() {
+        ensureIndexCapacity(store.size());
+        int count = 0;
+        for (int i = 0; i < store.size(); i++) {
+            if (!store.isAlive(i)) continue;
+            indexIds[count] = i;
+            indexXs[count] = store.getX(i);
+            indexYs[count] = store.getY(i);
+            count++;
+        }
+        targetGrid.build(count, indexIds, indexXs, indexYs);
+    }
+
+    private void indexShots() {
+        ensureIndexCapacity(activeShots.size());
+        for (int i = 0; i < activeShots.size(); i++) {
+            Shot s = activeShots.get(i);
+            indexIds[i] = i;
+            indexXs[i] = (int) s.x;
+            indexYs[i] = (int) s.y;
+        }
+        shotGrid.build(activeShots.size(), indexIds, indexXs, indexYs);
+    }
+
+    private void ensureGroupCapacity(int count) {
+        if (groupIds.length < count) {
+            int size = Math.max(count, groupIds.length * 2);
+            groupIds = new int[size];
+            nearMissOut = new double[size];
+            clusterOut = new int[size];
+        }
+    }
+
+    /**
+     * Points target id's memo at the nearest shot anywhere in the world, as TargetStore.update does with the
+     * full shot list; the kernels only see the shots around the target's chunk. Searches rings of shot chunks
+     * outwards and stops once no farther ring can hold a closer shot, or falls back to a scan of every shot
+     * when the rings would cover more chunks than there are shots. Ties go to the earlier shot, as in the scan.
+     */
+    private void refreshMemoShot(int id) {
+        int shotCount = activeShots.size();
+        if (shotCount == 0) return;
+        double px = store.getX(id), py = store.getY(id);
+        int chunk = shotGrid.chunkAt(px, py);
+        int cx = chunk % shotGrid.getChunksX(), cy = chunk / shotGrid.getChunksX();
+        int maxRing = Math.max(shotGrid.getChunksX(), shotGrid.getChunksY());
+        double best = Double.MAX_VALUE;
+        int bestIndex = -1;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // every shot in this ring or beyond is at least (ring - 1) chunks away
+            double reach = Math.max(0, ring - 1) * (double) ChunkGrid.CHUNK_SIZE;
+            if (bestIndex >= 0 && best < reach * reach) break;
+            if ((2L * ring + 1) * (2L * ring + 1) > shotCount) {
+                for (int s = 0; s < shotCount; s++) {
+                    Shot shot = activeShots.get(s);
+                    double dx = px - shot.x, dy = py - shot.y;
+                    double dist2 = dx * dx + dy * dy;
+                    if (dist2 < best) {
+                        best = dist2;
+                        bestIndex = s;
+                    }
+                }
+                break;
+            }
+            for (int dy = -ring; dy <= ring; dy++) {
+                for (int dx = -ring; dx <= ring; dx++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != ring) continue;
+                    int neighbour = shotGrid.chunkIndex(cx + dx, cy + dy);
+                    if (neighbour < 0) continue;
+                    for (int k = shotGrid.chunkStart(neighbour); k < shotGrid.chunkEnd(neighbour); k++) {
+                        int s = shotGrid.get(k);
+                        Shot shot = activeShots.get(s);
+                        double ddx = px - shot.x, ddy = py - shot.y;
+                        double dist2 = ddx * ddx + ddy * ddy;
+                        if (dist2 < best || (dist2 == best && s < bestIndex)) {
+                            best = dist2;
+                            bestIndex = s;
                         }
                     }
                 }
+            }
+        }
+        Shot nearest = activeShots.get(bestIndex);
+        store.setMemoShot(id, nearest.x, nearest.y);
+    }
 
-                // Penalize excessive movement to encourage efficient dodging
-                target.addFitness(-0.2 * target.getLastMoveDistance());
-
-                // Reward being far from historical shot locations (hot zones)
-                int historyX = Math.max(0, Math.min(FIELD_WIDTH - 1, target.getX()));
-                int historyY = Math.max(0, Math.min(FIELD_HEIGHT - 1, target.getY()));
-                double shotDensity = shotHistory.getDensityAt(historyX, historyY);
-                target.addFitness(1.0 / (1.0 + shotDensity));  // Inverse relationship to shot density
+    // positions of the shots in the 3x3 chunks around chunk
+    private void collectNearbyShots(int chunk) {
+        nearShotCount = 0;
+        int cx = chunk % targetGrid.getChunksX(), cy = chunk / targetGrid.getChunksX();
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int neighbour = shotGrid.chunkIndex(cx + dx, cy + dy);
+                if (neighbour < 0) continue;
+                for (int k = shotGrid.chunkStart(neighbour); k < shotGrid.chunkEnd(neighbour); k++) {
+                    if (nearShotCount == nearShotXs.length) {
+                        nearShotXs = Arrays.copyOf(nearShotXs, nearShotCount * 2);
+                        nearShotYs = Arrays.copyOf(nearShotYs, nearShotCount * 2);
+                    }
+                    Shot shot = activeShots.get(shotGrid.get(k));
+                    nearShotXs[nearShotCount] = shot.x;
+                    nearShotYs[nearShotCount] = shot.y;
+                    nearShotCount++;
+                }
             }
         }
+    }
 
-        // --- Automatic next generation when all targets are dead ---
-        if (runningRound && population.stream().noneMatch(Target::isAlive)) {
-            runningRound = false;
-            evolve();
+    // positions of the live targets in the 3x3 chunks around chunk (including its own)
+    private void collectNeighbours(int chunk) {
+        neighbourCount = 0;
+        int cx = chunk % targetGrid.getChunksX(), cy = chunk / targetGrid.getChunksX();
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int neighbour = targetGrid.chunkIndex(cx + dx, cy + dy);
+                if (neighbour < 0) continue;
+                for (int k = targetGrid.chunkStart(neighbour); k < targetGrid.chunkEnd(neighbour); k++) {
+                    int id = targetGrid.get(k);
+                    if (!store.isAlive(id)) continue;
+                    if (neighbourCount == neighbourXs.length) {
+                        neighbourXs = Arrays.copyOf(neighbourXs, neighbourCount * 2);
+                        neighbourYs = Arrays.copyOf(neighbourYs, neighbourCount * 2);
+                    }
+                    neighbourXs[neighbourCount] = store.getX(id);
+                    neighbourYs[neighbourCount] = store.getY(id);
+                    neighbourCount++;
+                }
+            }
         }
     }
 
     public void fireShotAtWithPower(double targetX, double targetY, float power) {
         double shooterX = 0;
-        double shooterY = FIELD_HEIGHT;
+        double shooterY = worldHeight;
         double speed = Shot.MIN_SPEED + (Shot.MAX_SPEED - Shot.MIN_SPEED) * power;
-        activeShots.add(new Shot(shooterX, shooterY, targetX, targetY, speed));
-        SoundManager.playSoundEffect("/sounds/shotgun.wav");
+        Shot shot = new Shot(shooterX, shooterY, targetX, targetY, speed);
+        activeShots.add(shot);
+        if (dangerField != null) {
+            dangerField.addShot(shot);
+        }
+        events.publish(GameEventType.SHOT_FIRED, targetX, targetY, power);
     }
 
+    /**
+     * Evolves the next generation right away and starts its round. If a background evolution
+     * is already under way, waits for it instead (that is the next generation).
+     */
     public void evolve() {
-        double avgFitness = population.stream().mapToDouble(Target::getFitness).average().orElse(0);
-        double std = Math.sqrt(population.stream().mapToDouble(t -> Math.pow(t.getFitness() - avgFitness, 2)).sum() / population.size());
-        Target best = Collections.max(population, Comparator.comparingDouble(Target::getFitness));
-        System.out.printf(
-                "Generation %d - Avg fitness: %.2f, Std dev: %.2f, Best: %.2f, Genome: %s%n",
-                generation, avgFitness, std, best.getFitness(), Arrays.toString(best.getGenome().getGenes())
-        );
-        List<Genome> nextGenGenomes = ga.nextGeneration(population, populationSize);
-        population.clear();
-        for (Genome g : nextGenGenomes) {
-            int x = 400 + rand.nextInt(200);
-            int y = 100 + rand.nextInt(400);
-            population.add(new Target(x, y, g));
+        if (pendingGeneration != null) {
+            awaitNextGeneration();
+            return;
+        }
+        swapInNextGeneration(prepareNextGeneration(populationSize));
+    }
+
+    /**
+     * Computes the next generation on the evolution thread while the current frame carries on
+     * (death and explosion animations keep playing). The first tick after it finishes swaps it in.
+     * Until then the finished population is left untouched, so the worker can read it without locking.
+     */
+    private void evolveInBackground() {
+        if (evolutionExecutor == null) {
+            evolutionExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "evolution");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        int size = populationSize;
+        pendingGeneration = evolutionExecutor.submit(() -> prepareNextGeneration(size));
+    }
+
+    /**
+     * Blocks until a pending background evolution is done and swaps it in; no-op if none is pending.
+     */
+    private void awaitNextGeneration() {
+        if (pendingGeneration == null) return;
+        GenerationStats stats;
+        try {
+            stats = pendingGeneration.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            pendingGeneration = null;
+            throw new IllegalStateException("Evolving generation " + generation + " failed", e.getCause());
+        }
+        pendingGeneration = null;
+        swapInNextGeneration(stats);
+    }
+
+    /**
+     * Collects statistics of the current population and fills the back buffer with the next generation,
+     * already reset for its first round. Only touches the back buffer, the optimizer, rand and telemetry,
+     * so it may run on the evolution thread.
+     */
+    private GenerationStats prepareNextGeneration(int size) {
+        GenerationStats stats = null;
+        if (!population.isEmpty()) {
+            // single pass over the population; formatting and I/O happen on the telemetry thread
+            int geneCount = population.get(0).getGenome().getGenes().length;
+            stats = new GenerationStats(generation, population.size(), geneCount, TELEMETRY_TOP_K);
+            for (Target t : population) {
+                stats.add(t.getFitness(), t.getGenome().getGenes());
+            }
+            if (telemetry != null) {
+                telemetry.record(stats);
+            }
+        }
+        List<Genome> nextGenGenomes = optimizer.nextGeneration(population, size);
+        if (nextPopulation.size() > nextGenGenomes.size()) {
+            nextPopulation.subList(nextGenGenomes.size(), nextPopulation.size()).clear();
+            nextStore.truncate(nextGenGenomes.size());
+        }
+        for (int i = 0; i < nextGenGenomes.size(); i++) {
+            if (i < nextPopulation.size()) {
+                respawnTarget(nextPopulation.get(i), nextGenGenomes.get(i));
+            } else {
+                nextPopulation.add(newTarget(nextStore, nextGenGenomes.get(i)));
+            }
+            nextPopulation.get(i).reset(worldWidth, worldHeight);
+        }
+        return stats;
+    }
+
+    private void swapInNextGeneration(GenerationStats stats) {
+        if (stats != null) {
+            lastGenerationStats = stats;
         }
+        List<Target> finished = population;
+        population = nextPopulation;
+        nextPopulation = finished;
+        TargetStore finishedStore = store;
+        store = nextStore;
+        nextStore = finishedStore;
         generation++;
-        populationSize++;
-        startRound();
+        if (growPopulation) {
+            populationSize++;
+        }
+        if (breeder != null) {
+            resetSteadyStats();
+        }
+        events.publish(GameEventType.GENERATION_EVOLVED, 0, 0, generation);
+        beginRound();
+    }
+
+    // appends to targetStore; callers keep the population list in step, so list index == store slot
+    private Target newTarget(TargetStore targetStore, Genome genome) {
+        // same spawn box as the original 800x600 field (x 400-600, y 100-500), scaled to the world
+        int x = worldWidth / 2 + rand.nextInt(Math.max(1, worldWidth / 4));
+        int y = worldHeight / 6 + rand.nextInt(Math.max(1, worldHeight * 2 / 3));
+        return new Target(targetStore, targetStore.add(x, y, genome, rand.nextLong()));
+    }
+
+    // draws from rand exactly like newTarget, so reusing a Target does not change the simulation
+    private void respawnTarget(Target target, Genome genome) {
+        int x = worldWidth / 2 + rand.nextInt(Math.max(1, worldWidth / 4));
+        int y = worldHeight / 6 + rand.nextInt(Math.max(1, worldHeight * 2 / 3));
+        target.respawn(x, y, genome, rand.nextLong());
+    }
+
+    /**
+     * Interactive mode: evolve on a background thread at the end of a round instead of inside the tick.
+     * Headless runs keep the synchronous path, which is deterministic in tick count.
+     */
+    public void setAsyncEvolve(boolean asyncEvolve) {
+        this.asyncEvolve = asyncEvolve;
+    }
+
+    /**
+     * Level-of-detail AI (off by default): targets far from every predicted shot path think at a reduced
+     * rate and coast in between. Scoring is unaffected; it still runs every tick for every live target.
+     * Coasting changes how targets move, so headless, sweep and racing runs leave it off and stay comparable.
+     */
+    public void setLevelOfDetail(boolean enabled) {
+        aiScheduler = enabled ? new AiScheduler(targetGrid, worldWidth, worldHeight) : null;
+    }
+
+    /**
+     * Danger-field steering (off by default): targets steer down the gradient of a shared DangerField of
+     * predicted shot paths and landings instead of each scanning the shots around it, so the AI step costs
+     * the same whatever the number of shots. Landings from before the switch are not in the field.
+     */
+    public void setDangerField(boolean enabled) {
+        dangerField = enabled ? new DangerField(worldWidth, worldHeight) : null;
+        if (dangerField != null) {
+            for (Shot shot : activeShots) {
+                dangerField.addShot(shot);
+            }
+        }
+    }
+
+    /**
+     * Marks targets, by population index, as decoys for the rounds that follow: they stay in the arena, where
+     * they can be shot and count as neighbours for clustering, but stand still and are not scored, and the round
+     * ends once every other target is down. Null makes every target play again. RacingEvaluator uses this for
+     * candidates that no longer need samples, so they cost next to nothing per tick.
+     */
+    public void setDecoys(boolean[] decoys) {
+        this.decoys = decoys;
+    }
+
+    public boolean isDecoy(int index) {
+        return decoys != null && decoys[index];
+    }
+
+    private boolean hasLivePlayer() {
+        for (int i = 0; i < population.size(); i++) {
+            if (population.get(i).isAlive() && !isDecoy(i)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Switches to steady-state evolution: every death is replaced at once by an offspring of the breeder,
+     * and rounds no longer end when the last target dies. Null goes back to generational evolution.
+     * evolve() still performs a full generational step through the optimizer when called explicitly.
+     */
+    public void setSteadyState(SteadyStateBreeder breeder) {
+        this.breeder = breeder;
+        if (breeder != null) {
+            resetSteadyStats();
+        }
+    }
+
+    /** Name of the TargetKernel in use; the vector kernel may have been requested but unavailable. */
+    public String getKernelName() {
+        return kernel.name();
+    }
+
+    public boolean isLevelOfDetail() {
+        return aiScheduler != null;
+    }
+
+    public boolean isDangerField() {
+        return dangerField != null;
+    }
+
+    public boolean isSteadyState() {
+        return breeder != null;
+    }
+
+    /**
+     * True while a background evolution is computing the next generation.
+     */
+    public boolean isEvolving() {
+        return pendingGeneration != null;
+    }
+
+    /**
+     * Sets the log that receives per-generation statistics; null disables telemetry.
+     */
+    public void setTelemetry(TelemetryLog telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Events published by the simulation (shots, hits, deaths, new generations). Headless runs attach no consumers.
+     */
+    public GameEventRing getEvents() {
+        return events;
+    }
+
+    public void setAutoEvolve(boolean autoEvolve) {
+        this.autoEvolve = autoEvolve;
+    }
+
+    /**
+     * Ends the current round without evolving; surviving targets keep their fitness.
+     */
+    public void endRound() {
+        runningRound = false;
+        activeShots.clear();
+        if (dangerField != null) {
+            dangerField.clearShots();
+        }
+    }
+
+    /**
+     * Statistics of the most recently completed generation, or null before the first evolve().
+     */
+    public GenerationStats getLastGenerationStats() {
+        return lastGenerationStats;
+    }
+
+    public int getWorldWidth() {
+        return worldWidth;
+    }
+
+    public int getWorldHeight() {
+        return worldHeight;
+    }
+
+    /**
+     * Live targets bucketed by chunk as of the last tick (entity ids are indices into getPopulation()).
+     */
+    public ChunkGrid getTargetGrid() {
+        return targetGrid;
+    }
+
+    /**
+     * Active shots bucketed by chunk as of the last tick (entity ids are indices into getActiveShots()).
+     */
+    public ChunkGrid getShotGrid() {
+        return shotGrid;
+    }
+
+    public FitnessWeights getWeights() {
+        return weights;
     }
 
     public List<Target> getPopulation() {
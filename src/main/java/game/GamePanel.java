@@ -1,5 +1,9 @@
 package game;
 
+import game.events.EventCursor;
+import game.events.GameEventType;
+import game.world.ChunkGrid;
+import model.Explosions;
 import model.Shot;
 import model.Target;
 
@@ -11,24 +15,56 @@ import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.Toolkit;
+import java.awt.Transparency;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
+import java.util.List;
+import java.util.function.Consumer;
 
+/**
+ * Renders an 800x600 camera viewport onto the (possibly much larger) world.
+ * Entities are kept in world coordinates; the arrow keys scroll the camera.
+ */
 public class GamePanel extends JPanel {
     private static final int CHARGE_BAR_WIDTH = 180;
     private static final int CHARGE_BAR_HEIGHT = 20;
     private static final long CHARGE_DURATION_MS = 2400;
     private static final int MUZZLE_FLASH_DURATION_MS = 80;
+    private static final int AIM_ARC_STEPS = 60;
+    // area in the bottom left corner the rotated shotgun and muzzle flash can cover
+    private static final int SHOOTER_AREA = 220;
+    private static final int HUD_HEIGHT = 75;
+    private static final int SCROLL_STEP = 100;
+    // how far a target's sprite and overlay text can reach outside its chunk
+    private static final int CULL_MARGIN = 160;
 
     private final GameEngine engine;
     private Timer timer;
-    private Timer uiTimer;
+
+    private final CachedLayer backgroundLayer = new CachedLayer(Transparency.OPAQUE, this::renderBackground);
+    private final CachedLayer hudLayer = new CachedLayer(Transparency.TRANSLUCENT, this::renderInformation);
+    private final DirtyRegion dirtyRegion = new DirtyRegion();
+    private final Explosions explosions = new Explosions();
+    private final EventCursor eventCursor;
+    private final Rectangle entityBounds = new Rectangle();
+    private int hudGeneration = -1;
+    private int hudShotsFired = -1;
+    private int cameraX, cameraY;
+    private double lastShooterAngle = Double.NaN;
+    private boolean lastMuzzleFlash = false;
+
+    // predicted shot arc, recomputed once per tick while aiming and reused for painting
+    private final int[] arcX = new int[AIM_ARC_STEPS];
+    private final int[] arcY = new int[AIM_ARC_STEPS];
+    private int arcLength = 0;
 
     private boolean aiming = false;
+    // aim point in world coordinates
     private int aimX, aimY;
     private boolean charging = false;
     private long chargeStartTime = 0;
@@ -42,6 +78,9 @@ public class GamePanel extends JPanel {
 
     public GamePanel(GameEngine engine) {
         this.engine = engine;
+        this.eventCursor = engine.getEvents().newCursor();
+        // start looking at the shooter in the bottom left corner of the world
+        this.cameraY = Math.max(0, engine.getWorldHeight() - GameEngine.FIELD_HEIGHT);
         setPreferredSize(new Dimension(GameEngine.FIELD_WIDTH, GameEngine.FIELD_HEIGHT));
         setBackground(Color.WHITE);
         setFocusable(true);
@@ -58,8 +97,13 @@ public class GamePanel extends JPanel {
                     case KeyEvent.VK_SPACE -> engine.startRound();
                     case KeyEvent.VK_N -> engine.evolve();
                     case KeyEvent.VK_R -> engine.startRound();
+                    case KeyEvent.VK_LEFT -> scrollCamera(-SCROLL_STEP, 0);
+                    case KeyEvent.VK_RIGHT -> scrollCamera(SCROLL_STEP, 0);
+                    case KeyEvent.VK_UP -> scrollCamera(0, -SCROLL_STEP);
+                    case KeyEvent.VK_DOWN -> scrollCamera(0, SCROLL_STEP);
+                    default -> { }
                 }
-                repaint();
+                dirtyRegion.markAll();
             }
         });
     }
@@ -68,13 +112,13 @@ public class GamePanel extends JPanel {
         addMouseListener(new MouseAdapter() {
             public void mousePressed(MouseEvent e) {
                 if (SwingUtilities.isLeftMouseButton(e) && engine.isRunningRound()) {
-                    startCharging(e.getX(), e.getY());
+                    startCharging(e.getX() + cameraX, e.getY() + cameraY);
                 }
             }
 
             public void mouseReleased(MouseEvent e) {
                 if (charging && aiming && SwingUtilities.isLeftMouseButton(e) && engine.isRunningRound()) {
-                    fireShot(e.getX(), e.getY());
+                    fireShot(e.getX() + cameraX, e.getY() + cameraY);
                 }
             }
         });
@@ -82,33 +126,116 @@ public class GamePanel extends JPanel {
         addMouseMotionListener(new MouseMotionAdapter() {
             public void mouseDragged(MouseEvent e) {
                 if (aiming && engine.isRunningRound()) {
-                    aimX = e.getX();
-                    aimY = e.getY();
-                    repaint();
+                    aimX = e.getX() + cameraX;
+                    aimY = e.getY() + cameraY;
                 }
             }
         });
     }
 
+    /**
+     * One timer drives both simulation and rendering; each tick repaints only the areas that changed.
+     */
     private void setupTimers() {
-        uiTimer = new Timer(16, e -> repaint());
-        uiTimer.start();
-
         timer = new Timer(16, e -> {
+            int generation = engine.getGeneration();
             engine.updateShotsAndTargets();
+            if (generation != engine.getGeneration()) {
+                dirtyRegion.markAll();
+            }
+            eventCursor.drain(this::onGameEvent);
+            explosions.update();
             updateChargeBar();
-            repaint();
+            updateMuzzleFlash();
+            updateAimingArc();
+            collectDirtyRegions();
+            dirtyRegion.flush(this, cameraX, cameraY);
         });
         timer.start();
     }
 
+    private void scrollCamera(int dx, int dy) {
+        cameraX = Math.max(0, Math.min(Math.max(0, engine.getWorldWidth() - getWidth()), cameraX + dx));
+        cameraY = Math.max(0, Math.min(Math.max(0, engine.getWorldHeight() - getHeight()), cameraY + dy));
+        dirtyRegion.markAll();
+    }
+
+    /**
+     * Calls action for every live target in a chunk that overlaps the viewport; other chunks are not visited.
+     */
+    private void forEachVisibleTarget(Consumer<Target> action) {
+        ChunkGrid grid = engine.getTargetGrid();
+        int x0 = Math.max(0, (cameraX - CULL_MARGIN) / ChunkGrid.CHUNK_SIZE);
+        int y0 = Math.max(0, (cameraY - CULL_MARGIN) / ChunkGrid.CHUNK_SIZE);
+        int x1 = Math.min(grid.getChunksX() - 1, (cameraX + getWidth() + CULL_MARGIN) / ChunkGrid.CHUNK_SIZE);
+        int y1 = Math.min(grid.getChunksY() - 1, (cameraY + getHeight() + CULL_MARGIN) / ChunkGrid.CHUNK_SIZE);
+        List<Target> population = engine.getPopulation();
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int chunk = grid.chunkIndex(cx, cy);
+                for (int k = grid.chunkStart(chunk); k < grid.chunkEnd(chunk); k++) {
+                    int id = grid.get(k);
+                    if (id < population.size()) {
+                        action.accept(population.get(id));
+                    }
+                }
+            }
+        }
+    }
+
+    private void onGameEvent(GameEventType type, double x, double y, double value) {
+        if (type == GameEventType.TARGET_DIED) {
+            explosions.spawn(x, y);
+        }
+    }
+
+    /** Collects this tick's dirty areas in world coordinates (screen-space overlays are offset by the camera). */
+    private void collectDirtyRegions() {
+        Rectangle view = new Rectangle(cameraX, cameraY, getWidth(), getHeight());
+        forEachVisibleTarget(target -> {
+            target.getPaintBounds(entityBounds);
+            dirtyRegion.add(entityBounds);
+        });
+        explosions.getPaintBounds(entityBounds);
+        if (entityBounds.intersects(view)) {
+            dirtyRegion.add(entityBounds.intersection(view));
+        }
+        for (Shot s : engine.getActiveShots()) {
+            if (view.intersects((int) s.x - 5, (int) s.y - 5, 10, 10)) {
+                dirtyRegion.add((int) s.x - 5, (int) s.y - 5, 10, 10);
+            }
+        }
+        int shooterY = engine.getWorldHeight();
+        if (aiming) {
+            dirtyRegion.add(Math.min(0, aimX) - 1, Math.min(shooterY, aimY) - 1,
+                    Math.abs(aimX) + 2, Math.abs(shooterY - aimY) + 2);
+            for (int i = 0; i < arcLength; i++) {
+                dirtyRegion.add(arcX[i] - 3, arcY[i] - 3, 6, 6);
+            }
+        }
+        if (charging) {
+            dirtyRegion.add(cameraX + 9, cameraY + GameEngine.FIELD_HEIGHT - CHARGE_BAR_HEIGHT - 11, CHARGE_BAR_WIDTH + 3, CHARGE_BAR_HEIGHT + 3);
+        }
+        double shooterAngle = getShooterAngle();
+        if (shooterAngle != lastShooterAngle || showMuzzleFlash != lastMuzzleFlash) {
+            lastShooterAngle = shooterAngle;
+            lastMuzzleFlash = showMuzzleFlash;
+            dirtyRegion.add(0, shooterY - SHOOTER_AREA, SHOOTER_AREA, SHOOTER_AREA);
+        }
+        if (hudGeneration != engine.getGeneration() || hudShotsFired != engine.getRoundShotsFired()) {
+            hudGeneration = engine.getGeneration();
+            hudShotsFired = engine.getRoundShotsFired();
+            hudLayer.invalidate();
+            dirtyRegion.add(cameraX, cameraY, getWidth(), HUD_HEIGHT);
+        }
+    }
+
     private void startCharging(int x, int y) {
         aiming = true;
         charging = true;
         aimX = x;
         aimY = y;
         chargeStartTime = System.currentTimeMillis();
-        repaint();
     }
 
     private void fireShot(int x, int y) {
@@ -118,7 +245,6 @@ public class GamePanel extends JPanel {
         chargePower = 0;
         showMuzzleFlash = true;
         muzzleFlashStartTime = System.currentTimeMillis();
-        repaint();
     }
 
     private void updateChargeBar() {
@@ -128,24 +254,44 @@ public class GamePanel extends JPanel {
         }
     }
 
+    /**
+     * Paints only what intersects the clip Swing hands us (the dirty region of this tick).
+     * Background and HUD come from cached offscreen layers and stay fixed on screen;
+     * the world is drawn through a camera translation, visiting only chunks in view.
+     */
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        drawBackground(g);
-        updateMuzzleFlash();
-        drawShots(g);
-        drawAimingArc(g);
-        drawTargets(g);
-        drawShooter(g);
-        drawAimingLine(g);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        backgroundLayer.paint(g, getGraphicsConfiguration(), getWidth(), getHeight());
+
+        Graphics2D world = (Graphics2D) g.create();
+        world.translate(-cameraX, -cameraY);
+        Rectangle worldClip = new Rectangle(clip.x + cameraX, clip.y + cameraY, clip.width, clip.height);
+        drawShots(world, worldClip);
+        drawAimingArc(world);
+        drawTargets(world, worldClip);
+        if (worldClip.intersects(0, engine.getWorldHeight() - SHOOTER_AREA, SHOOTER_AREA, SHOOTER_AREA)) {
+            drawShooter(world);
+        }
+        drawAimingLine(world);
+        world.dispose();
+
         drawChargeBar(g);
-        drawInformation(g);
+        if (clip.intersects(0, 0, getWidth(), HUD_HEIGHT)) {
+            hudLayer.paint(g, getGraphicsConfiguration(), getWidth(), getHeight());
+        }
     }
 
-    private void drawBackground(Graphics g) {
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+    private boolean renderBackground(Graphics2D g) {
+        if (backgroundImage == null) return true;
+        // the toolkit loads images asynchronously; keep the layer invalid until the image is complete
+        boolean complete = g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        if (!complete) {
+            dirtyRegion.markAll();
         }
+        return complete;
     }
 
     private void updateMuzzleFlash() {
@@ -154,18 +300,29 @@ public class GamePanel extends JPanel {
         }
     }
 
-    private void drawShots(Graphics g) {
+    private void drawShots(Graphics g, Rectangle clip) {
         g.setColor(Color.DARK_GRAY);
         for (Shot s : engine.getActiveShots()) {
-            g.fillOval((int) s.x - 4, (int) s.y - 4, 8, 8);
+            int sx = (int) s.x - 4, sy = (int) s.y - 4;
+            if (clip.intersects(sx, sy, 8, 8)) {
+                g.fillOval(sx, sy, 8, 8);
+            }
         }
     }
 
     private void drawAimingArc(Graphics g) {
         if (!aiming) return;
-
         g.setColor(new Color(255, 0, 0, 128));
-        double shooterX = 0, shooterY = GameEngine.FIELD_HEIGHT;
+        for (int i = 0; i < arcLength; i++) {
+            g.fillOval(arcX[i] - 2, arcY[i] - 2, 4, 4);
+        }
+    }
+
+    private void updateAimingArc() {
+        arcLength = 0;
+        if (!aiming) return;
+
+        double shooterX = 0, shooterY = engine.getWorldHeight();
         double dx = aimX - shooterX, dy = aimY - shooterY;
         double dist = Math.sqrt(dx * dx + dy * dy);
         float power = charging ? chargePower : 1.0f;
@@ -174,31 +331,38 @@ public class GamePanel extends JPanel {
         double vy = (dy / dist) * speed;
         double px = shooterX, py = shooterY;
 
-        for (int i = 0; i < 60; i++) {
+        for (int i = 0; i < AIM_ARC_STEPS; i++) {
             vx *= Shot.DRAG;
             vy *= Shot.DRAG;
             vy += Shot.GRAVITY;
             px += vx;
             py += vy;
-            g.fillOval((int) px - 2, (int) py - 2, 4, 4);
-            if (px < 0 || px > GameEngine.FIELD_WIDTH || py < 0 || py > GameEngine.FIELD_HEIGHT) break;
+            arcX[arcLength] = (int) px;
+            arcY[arcLength] = (int) py;
+            arcLength++;
+            if (px < 0 || px > engine.getWorldWidth() || py < 0 || py > engine.getWorldHeight()) break;
         }
     }
 
-    private void drawTargets(Graphics g) {
-        for (Target target : engine.getPopulation()) {
-            target.updateHitState();
-            target.updateExplosion();
-            target.draw((Graphics2D) g);
-            target.drawExplosion((Graphics2D) g);
-        }
+    private void drawTargets(Graphics g, Rectangle clip) {
+        forEachVisibleTarget(target -> {
+            target.getPaintBounds(entityBounds);
+            if (clip.intersects(entityBounds)) {
+                target.draw((Graphics2D) g);
+            }
+        });
+        explosions.draw((Graphics2D) g);
+    }
+
+    private double getShooterAngle() {
+        return aiming ? Math.atan2(aimY - engine.getWorldHeight(), aimX) : Math.toRadians(45);
     }
 
     private void drawShooter(Graphics g) {
         Graphics2D g2d = (Graphics2D) g;
         int shooterBaseX = 0;
-        int shooterBaseY = GameEngine.FIELD_HEIGHT;
-        double shooterAngle = aiming ? Math.atan2(aimY - shooterBaseY, aimX - shooterBaseX) : Math.toRadians(45);
+        int shooterBaseY = engine.getWorldHeight();
+        double shooterAngle = getShooterAngle();
         double shotgunScale = 0.4;
 
         if (shotgunImage != null) {
@@ -234,7 +398,7 @@ public class GamePanel extends JPanel {
     private void drawAimingLine(Graphics g) {
         if (aiming) {
             g.setColor(Color.GREEN);
-            g.drawLine(0, GameEngine.FIELD_HEIGHT, aimX, aimY);
+            g.drawLine(0, engine.getWorldHeight(), aimX, aimY);
         }
     }
 
@@ -249,11 +413,13 @@ public class GamePanel extends JPanel {
         g.drawRect(barX, barY, CHARGE_BAR_WIDTH, CHARGE_BAR_HEIGHT);
     }
 
-    private void drawInformation(Graphics g) {
+    private boolean renderInformation(Graphics2D g) {
+        g.setFont(getFont());
         g.setColor(Color.WHITE);
         g.drawString("Generation: " + engine.getGeneration(), 10, 20);
         g.drawString("Shots Fired: " + engine.getRoundShotsFired() + "/" + GameEngine.SHOTS_PER_ROUND, 10, 35);
-        g.drawString("SPACE: Run round | N: Next gen | R: Reset | Click+Hold+Release: Shoot", 10, 50);
+        g.drawString("SPACE: Run round | N: Next gen | R: Reset | Click+Hold+Release: Shoot | Arrows: Scroll", 10, 50);
         g.drawString("Hold to charge shot power (bar at bottom left)", 10, 65);
+        return true;
     }
 }
\ No newline at end of file
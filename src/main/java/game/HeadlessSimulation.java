@@ -0,0 +1,89 @@
+package game;
+
+import ai.GenerationStats;
+import model.Target;
+
+import java.util.List;
+
+/**
+ * Runs a GameEngine without a window: an AutoShooter plays, and rounds that drag on
+ * longer than maxRoundTicks are ended by evolving with the survivors' current fitness.
+ * With a RacingEvaluator each generation is scored over several seeded episodes instead of one round.
+ * No event consumers are attached, so sound and explosion side effects cost nothing.
+ */
+public class HeadlessSimulation {
+    private final GameEngine engine;
+    private final AutoShooter shooter;
+    private final int maxRoundTicks;
+    private final RacingEvaluator racing;
+    private long ticks = 0;
+    // sum over ticks of live targets other than decoys, i.e. how many Target updates were simulated
+    private long targetTicks = 0;
+
+    public HeadlessSimulation(GameEngine engine, AutoShooter shooter, int maxRoundTicks) {
+        this(engine, shooter, maxRoundTicks, null);
+    }
+
+    public HeadlessSimulation(GameEngine engine, AutoShooter shooter, int maxRoundTicks, RacingEvaluator racing) {
+        this.engine = engine;
+        this.shooter = shooter;
+        this.maxRoundTicks = maxRoundTicks;
+        this.racing = racing;
+        engine.setAutoEvolve(racing == null);
+        engine.startRound();
+    }
+
+    /**
+     * Ticks until the current generation has been evolved and returns its statistics.
+     */
+    public GenerationStats runGeneration() {
+        if (racing != null) {
+            racing.evaluate(this);
+            engine.evolve();
+            return engine.getLastGenerationStats();
+        }
+        int generation = engine.getGeneration();
+        int roundTicks = 0;
+        while (engine.getGeneration() == generation) {
+            tick();
+            if (++roundTicks >= maxRoundTicks && engine.getGeneration() == generation) {
+                engine.evolve();
+            }
+        }
+        return engine.getLastGenerationStats();
+    }
+
+    /**
+     * Plays the round the engine is currently running until every target is down or maxRoundTicks pass.
+     * The engine is not evolved.
+     */
+    void runEpisode() {
+        int roundTicks = 0;
+        while (engine.isRunningRound() && roundTicks++ < maxRoundTicks) {
+            tick();
+        }
+        engine.endRound();
+    }
+
+    private void tick() {
+        List<Target> population = engine.getPopulation();
+        for (int i = 0; i < population.size(); i++) {
+            if (population.get(i).isAlive() && !engine.isDecoy(i)) targetTicks++;
+        }
+        shooter.tick(engine);
+        engine.updateShotsAndTargets();
+        ticks++;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getTargetTicks() {
+        return targetTicks;
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+}
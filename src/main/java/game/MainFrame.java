@@ -1,12 +1,55 @@
 package game;
 
+import ai.genetics.CmaEs;
+import ai.genetics.GeneticAlgorithm;
+import ai.genetics.GeneticConfig;
+import ai.genetics.Nsga2;
+import ai.genetics.Optimizer;
+import ai.genetics.SteadyStateBreeder;
+import game.events.SoundEventListener;
+import utils.TelemetryLog;
+
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
+import java.nio.file.Path;
+import java.util.Random;
 
 public class MainFrame {
+    private static final int STEADY_ARCHIVE_SIZE = 64;
+    // deaths an archived life stays eligible as a parent
+    private static final int STEADY_ARCHIVE_WINDOW = 256;
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
-            GameEngine engine = new GameEngine();
+            // -Dshootage.optimizer=cmaes|nsga2 swaps the genetic algorithm for CMA-ES or multi-objective NSGA-II
+            // -Dshootage.species.radius=<r> turns on speciation with fitness sharing in the genetic algorithm
+            GeneticConfig geneticConfig = GeneticConfig.DEFAULT.withSpeciation(
+                    Double.parseDouble(System.getProperty("shootage.species.radius", "0")));
+            String optimizerName = System.getProperty("shootage.optimizer", "ga");
+            Optimizer optimizer = switch (optimizerName.toLowerCase()) {
+                case "cmaes" -> new CmaEs();
+                case "nsga2" -> new Nsga2(GeneticConfig.DEFAULT, new Random());
+                default -> new GeneticAlgorithm(geneticConfig, new Random());
+            };
+            // -Dshootage.world.width/height make the world larger than the window; arrow keys scroll
+            int worldWidth = Integer.getInteger("shootage.world.width", GameEngine.FIELD_WIDTH);
+            int worldHeight = Integer.getInteger("shootage.world.height", GameEngine.FIELD_HEIGHT);
+            GameEngine engine = new GameEngine(optimizer, FitnessWeights.DEFAULT, GameEngine.POPULATION, true,
+                    new Random().nextLong(), worldWidth, worldHeight);
+            TelemetryLog telemetry = new TelemetryLog(Path.of(System.getProperty("shootage.telemetry.dir", "telemetry")), true);
+            engine.setTelemetry(telemetry);
+            engine.setAsyncEvolve(true);
+            // level-of-detail AI keeps large worlds smooth; -Dshootage.lod=false runs every target's full AI every tick
+            engine.setLevelOfDetail(Boolean.parseBoolean(System.getProperty("shootage.lod", "true")));
+            // -Dshootage.steering=field makes targets steer by the shared danger field instead of scanning shots
+            engine.setDangerField("field".equalsIgnoreCase(System.getProperty("shootage.steering")));
+            // -Dshootage.evolution=steady replaces every dead target at once instead of evolving per round
+            if ("steady".equalsIgnoreCase(System.getProperty("shootage.evolution"))) {
+                engine.setSteadyState(new SteadyStateBreeder(GeneticConfig.DEFAULT, STEADY_ARCHIVE_SIZE, STEADY_ARCHIVE_WINDOW, new Random()));
+            }
+            engine.getEvents().subscribe("audio-events", new SoundEventListener());
+            engine.getEvents().subscribe("telemetry-events", telemetry);
+            Runtime.getRuntime().addShutdownHook(new Thread(telemetry::close));
             GamePanel panel = new GamePanel(engine);
 
             JFrame frame = new JFrame("Shootage AI Evolution");
@@ -0,0 +1,181 @@
+package game;
+
+import ai.RunningStat;
+import model.Target;
+import model.TargetStore;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Scores a population over several seeded episodes with statistical racing.
+ * A candidate is a distinct genome: targets with equal genes share one, and it gets one sample per episode
+ * (from its first target), so copies do not make an estimate look more certain than it is.
+ * After minEpisodes, every candidate gets a confidence interval mean +/- z * stderr; a candidate whose upper
+ * bound is below the lower bound of the keep-th best candidate is clearly dominated and sits out the remaining
+ * episodes (its mean so far becomes its fitness). Once no more than keep candidates are left in the race, the
+ * kept set is decided and the remaining episodes are skipped.
+ * Candidates that sit out stay in the arena as GameEngine decoys: still there to be shot and to crowd the
+ * others, so every episode has the same targets at the same seeded start positions, but standing still and
+ * unscored, which costs next to nothing, and an episode ends as soon as the racing targets are down.
+ * Results are cached by gene values, so elites copied into the next generation continue from the episodes they
+ * already played: they get one fresh episode per generation (refining the estimate) and more only while they
+ * have fewer than episodes samples.
+ */
+public class RacingEvaluator {
+    /**
+     * @param episodes     Episodes a candidate plays at most per evaluation
+     * @param minEpisodes  Episodes before any candidate can be eliminated (at least 2 for a variance estimate)
+     * @param z            Width of the confidence bounds in standard errors
+     * @param keepFraction Fraction of the candidates to keep: the rest may be eliminated, and racing stops once only
+     *                     this many are left
+     */
+    public record Settings(int episodes, int minEpisodes, double z, double keepFraction) {
+        public static final Settings DEFAULT = new Settings(5, 2, 1.5, 0.25);
+
+        public Settings {
+            if (episodes < 1) throw new IllegalArgumentException("episodes must be >= 1: " + episodes);
+            if (minEpisodes < 2) throw new IllegalArgumentException("minEpisodes must be >= 2: " + minEpisodes);
+            if (keepFraction <= 0 || keepFraction > 1) throw new IllegalArgumentException("keepFraction must be in (0,1]: " + keepFraction);
+        }
+    }
+
+    // genes compared by value, since elites are copied into new Genome objects
+    private record GenesKey(double[] genes) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GenesKey other && Arrays.equals(genes, other.genes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(genes);
+        }
+    }
+
+    // a candidate's episode results: fitness statistics for racing, objective sums for the final means
+    private static final class Samples {
+        final RunningStat fitness = new RunningStat();
+        final double[] objectiveSums = new double[TargetStore.OBJECTIVES];
+
+        void add(Target t) {
+            fitness.add(t.getFitness());
+            for (int m = 0; m < TargetStore.OBJECTIVES; m++) {
+                objectiveSums[m] += t.getObjective(m);
+            }
+        }
+    }
+
+    private final Settings settings;
+    private final Random rand;
+    private Map<GenesKey, Samples> cache = new HashMap<>();
+
+    public RacingEvaluator(Settings settings, long seed) {
+        this.settings = settings;
+        this.rand = new Random(seed);
+    }
+
+    /**
+     * Plays episodes on the simulation's engine and leaves each target's objectives set to their mean over its
+     * episodes, so its fitness is its mean episode fitness.
+     */
+    public void evaluate(HeadlessSimulation sim) {
+        GameEngine engine = sim.getEngine();
+        List<Target> population = engine.getPopulation();
+        int n = population.size();
+        // candidates[0..m): targets with equal genes map to one candidate, sampled through its first target
+        int[] candidateOf = new int[n];
+        int[] representative = new int[n];
+        Samples[] samples = new Samples[n];
+        RunningStat[] stats = new RunningStat[n];
+        Map<GenesKey, Integer> candidates = new HashMap<>();
+        Map<GenesKey, Samples> nextCache = new HashMap<>();
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            GenesKey key = new GenesKey(population.get(i).getGenome().getGenes());
+            Integer c = candidates.get(key);
+            if (c == null) {
+                c = m++;
+                candidates.put(key, c);
+                representative[c] = i;
+                samples[c] = cache.getOrDefault(key, new Samples());
+                stats[c] = samples[c].fitness;
+                nextCache.put(key, samples[c]);
+            }
+            candidateOf[i] = c;
+        }
+        stats = Arrays.copyOf(stats, m);
+
+        int[] freshEpisodes = new int[m];
+        boolean[] eliminated = new boolean[m];
+        boolean[] active = new boolean[m];
+        boolean[] decoys = new boolean[n];
+        int keep = Math.max(1, (int) Math.ceil(settings.keepFraction() * m));
+        for (int episode = 0; episode < settings.episodes(); episode++) {
+            engine.startRound(rand.nextLong());
+            int activeCount = 0;
+            for (int c = 0; c < m; c++) {
+                active[c] = !eliminated[c] && (freshEpisodes[c] == 0 || stats[c].getCount() < settings.episodes());
+                if (active[c]) activeCount++;
+            }
+            if (activeCount == 0) {
+                engine.endRound();
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                decoys[i] = !active[candidateOf[i]];
+            }
+            engine.setDecoys(decoys);
+            sim.runEpisode();
+            for (int c = 0; c < m; c++) {
+                if (active[c]) {
+                    samples[c].add(population.get(representative[c]));
+                    freshEpisodes[c]++;
+                }
+            }
+            if (episode + 1 >= settings.minEpisodes() && eliminateDominated(stats, eliminated, keep) <= keep) {
+                break;
+            }
+        }
+        engine.setDecoys(null);
+
+        double[] means = new double[TargetStore.OBJECTIVES];
+        for (int i = 0; i < n; i++) {
+            Samples s = samples[candidateOf[i]];
+            int count = Math.max(1, s.fitness.getCount());
+            for (int k = 0; k < TargetStore.OBJECTIVES; k++) {
+                means[k] = s.objectiveSums[k] / count;
+            }
+            population.get(i).setObjectives(means);
+        }
+        cache = nextCache;
+    }
+
+    // marks the candidates that are clearly below the keep-th best and returns how many are left in the race
+    private int eliminateDominated(RunningStat[] stats, boolean[] eliminated, int keep) {
+        int n = stats.length;
+        double[] lower = new double[n];
+        for (int i = 0; i < n; i++) {
+            lower[i] = stats[i].getMean() - settings.z() * standardError(stats[i]);
+        }
+        double[] sorted = lower.clone();
+        Arrays.sort(sorted);
+        double threshold = sorted[n - keep];
+        int racing = 0;
+        for (int i = 0; i < n; i++) {
+            if (!eliminated[i] && stats[i].getCount() >= settings.minEpisodes()) {
+                double upper = stats[i].getMean() + settings.z() * standardError(stats[i]);
+                eliminated[i] = upper < threshold;
+            }
+            if (!eliminated[i]) racing++;
+        }
+        return racing;
+    }
+
+    private static double standardError(RunningStat stat) {
+        return stat.getCount() > 1 ? Math.sqrt(stat.getSampleVariance() / stat.getCount()) : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,304 @@
+package game.bench;
+
+import ai.genetics.GeneticAlgorithm;
+import ai.genetics.GeneticConfig;
+import game.AutoShooter;
+import game.FitnessWeights;
+import game.GameEngine;
+import game.HeadlessSimulation;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * End-to-end throughput benchmark: fixed-seed scenarios played through GameEngine by an AutoShooter,
+ * exactly as a headless run would, measuring the whole simulation rather than one kernel.
+ * Per scenario it reports simulated ticks per second, generations per minute, allocation rate
+ * (bytes allocated by the simulating thread), GC pause total and count, and peak heap.
+ * Each result also records the engine configuration it ran with: the target kernel, the steering mode and
+ * whether level-of-detail AI was on.
+ * Results are written as CSV; with --baseline they are compared against an earlier CSV and any scenario
+ * that got slower (or allocates more per tick) by more than --threshold fails the run with exit code 1.
+ * A baseline recorded with a different configuration is refused with exit code 2, since the numbers would
+ * measure the configuration change rather than the code.
+ *
+ * Usage: MacroBenchmark [--scenarios sparse,burst,swarm,long] [--warmup N] [--steering scan|field] [--lod on|off]
+ *                       [--out bench-report.csv] [--baseline baseline.csv] [--threshold 0.10]
+ */
+public class MacroBenchmark {
+    private static final String HEADER = "scenario,kernel,steering,lod,ticks,generations,seconds,ticks_per_second,generations_per_minute,"
+            + "allocated_bytes_per_second,allocated_bytes_per_tick,gc_pause_ms,gc_count,peak_heap_bytes";
+
+    /**
+     * A synthetic workload: world and population size, the shooter's cadence, and how long to play.
+     */
+    public record Scenario(String name, int worldWidth, int worldHeight, int population,
+                           int fireInterval, int burstSize, double aimError, int roundTicks, int generations, long seed) {}
+
+    /**
+     * What the engine ran with; reports are only comparable between equal configurations.
+     */
+    public record Configuration(String kernel, String steering, boolean levelOfDetail) {
+        @Override
+        public String toString() {
+            return "kernel " + kernel + ", steering " + steering + ", lod " + onOff(levelOfDetail);
+        }
+    }
+
+    public record Result(String scenario, Configuration configuration, long ticks, int generations, double seconds, double ticksPerSecond,
+                         double generationsPerMinute, double allocatedBytesPerSecond, double allocatedBytesPerTick,
+                         long gcPauseMs, long gcCount, long peakHeapBytes) {}
+
+    public static final List<Scenario> SCENARIOS = List.of(
+            // the interactive default: a small population, one shot now and then
+            new Scenario("sparse", GameEngine.FIELD_WIDTH, GameEngine.FIELD_HEIGHT, 20, 30, 1, 3.0, 1500, 30, 1),
+            // volleys of 8 every 12 ticks, so the air is full of shots
+            new Scenario("burst", GameEngine.FIELD_WIDTH, GameEngine.FIELD_HEIGHT, 20, 12, 8, 3.0, 1500, 30, 2),
+            // 10k targets on a large world
+            new Scenario("swarm", 16000, 12000, 10000, 2, 10, 3.0, 300, 3, 3),
+            // many short generations: optimizer and round turnover dominate
+            new Scenario("long", GameEngine.FIELD_WIDTH, GameEngine.FIELD_HEIGHT, 20, 12, 1, 3.0, 300, 1000, 4));
+
+    private final boolean dangerField;
+    private final boolean levelOfDetail;
+
+    public MacroBenchmark(boolean dangerField, boolean levelOfDetail) {
+        this.dangerField = dangerField;
+        this.levelOfDetail = levelOfDetail;
+    }
+
+    public Result run(Scenario scenario) {
+        GameEngine engine = new GameEngine(new GeneticAlgorithm(GeneticConfig.DEFAULT, new Random(scenario.seed())),
+                FitnessWeights.DEFAULT, scenario.population(), false, scenario.seed(),
+                scenario.worldWidth(), scenario.worldHeight());
+        engine.setDangerField(dangerField);
+        engine.setLevelOfDetail(levelOfDetail);
+        Configuration configuration = new Configuration(engine.getKernelName(),
+                engine.isDangerField() ? "field" : "scan", engine.isLevelOfDetail());
+        AutoShooter shooter = new AutoShooter(scenario.seed(), scenario.fireInterval(), scenario.burstSize(), scenario.aimError());
+
+        System.gc();
+        resetPeakHeap();
+        long gcTime = gcTime(), gcCount = gcCount();
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+
+        HeadlessSimulation sim = new HeadlessSimulation(engine, shooter, scenario.roundTicks());
+        for (int g = 0; g < scenario.generations(); g++) {
+            sim.runGeneration();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long bytes = allocated >= 0 ? allocatedBytes() - allocated : -1;
+        long ticks = sim.getTicks();
+        return new Result(scenario.name(), configuration, ticks, scenario.generations(), seconds, ticks / seconds,
+                scenario.generations() / (seconds / 60), bytes >= 0 ? bytes / seconds : -1,
+                bytes >= 0 ? (double) bytes / ticks : -1,
+                gcTime() - gcTime, gcCount() - gcCount, peakHeap());
+    }
+
+    // bytes allocated so far by this thread, which runs the whole simulation; -1 if the JVM cannot tell
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    // sum of the heap pools' peaks: an upper bound, since the pools need not peak at the same moment
+    private static long peakHeap() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) total += pool.getPeakUsage().getUsed();
+        }
+        return total;
+    }
+
+    public static void writeReport(List<Result> results, Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println(HEADER);
+            for (Result r : results) {
+                Configuration c = r.configuration();
+                out.printf(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%.3f,%.1f,%.2f,%.0f,%.1f,%d,%d,%d%n", r.scenario(),
+                        c.kernel(), c.steering(), onOff(c.levelOfDetail()), r.ticks(),
+                        r.generations(), r.seconds(), r.ticksPerSecond(), r.generationsPerMinute(),
+                        r.allocatedBytesPerSecond(), r.allocatedBytesPerTick(), r.gcPauseMs(), r.gcCount(),
+                        r.peakHeapBytes());
+            }
+        }
+    }
+
+    public static Map<String, Result> readReport(Path file) throws IOException {
+        Map<String, Result> results = new HashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+            throw new IOException(file + " is not a report in the current format; record a new baseline");
+        }
+        for (int i = 1; i < lines.size(); i++) {
+            if (lines.get(i).isBlank()) continue;
+            String[] f = lines.get(i).split(",");
+            Configuration c = new Configuration(f[1], f[2], f[3].equals("on"));
+            results.put(f[0], new Result(f[0], c, Long.parseLong(f[4]), Integer.parseInt(f[5]),
+                    Double.parseDouble(f[6]), Double.parseDouble(f[7]), Double.parseDouble(f[8]),
+                    Double.parseDouble(f[9]), Double.parseDouble(f[10]), Long.parseLong(f[11]),
+                    Long.parseLong(f[12]), Long.parseLong(f[13])));
+        }
+        return results;
+    }
+
+    /**
+     * Prints the change of each result against the baseline and returns how many regressed by more than threshold
+     * (relative): fewer ticks per second or generations per minute, or more bytes allocated per tick.
+     * Throws IllegalArgumentException, before printing anything, if a scenario's baseline was recorded with a
+     * different configuration.
+     */
+    public static int compare(List<Result> results, Map<String, Result> baseline, double threshold) {
+        for (Result r : results) {
+            Result b = baseline.get(r.scenario());
+            if (b != null && !b.configuration().equals(r.configuration())) {
+                throw new IllegalArgumentException("Baseline for " + r.scenario() + " was recorded with "
+                        + b.configuration() + ", this run used " + r.configuration());
+            }
+        }
+        int regressions = 0;
+        for (Result r : results) {
+            Result b = baseline.get(r.scenario());
+            if (b == null) {
+                System.out.printf("%-8s no baseline%n", r.scenario());
+                continue;
+            }
+            double ticks = change(r.ticksPerSecond(), b.ticksPerSecond());
+            double generations = change(r.generationsPerMinute(), b.generationsPerMinute());
+            double allocation = change(r.allocatedBytesPerTick(), b.allocatedBytesPerTick());
+            boolean regressed = ticks < -threshold || generations < -threshold
+                    || (r.allocatedBytesPerTick() >= 0 && b.allocatedBytesPerTick() >= 0 && allocation > threshold);
+            if (regressed) regressions++;
+            System.out.printf(Locale.ROOT, "%-8s ticks/s %+.1f%%  generations/min %+.1f%%  bytes/tick %+.1f%%  %s%n",
+                    r.scenario(), ticks * 100, generations * 100, allocation * 100, regressed ? "REGRESSION" : "ok");
+        }
+        return regressions;
+    }
+
+    private static String onOff(boolean value) {
+        return value ? "on" : "off";
+    }
+
+    private static double change(double current, double base) {
+        return base != 0 ? (current - base) / Math.abs(base) : 0;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        List<String> names = null;
+        int warmup = 1;
+        boolean dangerField = false;
+        boolean levelOfDetail = false;
+        Path out = Path.of("bench-report.csv");
+        Path baseline = null;
+        double threshold = 0.10;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--scenarios" -> names = List.of(value.split(","));
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--steering" -> dangerField = switch (value) {
+                    case "scan" -> false;
+                    case "field" -> true;
+                    default -> throw new IllegalArgumentException("Unknown steering: " + value);
+                };
+                case "--lod" -> levelOfDetail = switch (value) {
+                    case "on" -> true;
+                    case "off" -> false;
+                    default -> throw new IllegalArgumentException("Unknown lod: " + value);
+                };
+                case "--out" -> out = Path.of(value);
+                case "--baseline" -> baseline = Path.of(value);
+                case "--threshold" -> threshold = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+        List<Scenario> scenarios = new ArrayList<>();
+        for (Scenario s : SCENARIOS) {
+            if (names == null || names.contains(s.name())) scenarios.add(s);
+        }
+        if (scenarios.isEmpty()) throw new IllegalArgumentException("No scenario matches " + names);
+        // the baseline is read before anything is written, and never overwritten by the report it is compared with
+        Map<String, Result> baselineResults = null;
+        if (baseline != null) {
+            if (out.toAbsolutePath().normalize().equals(baseline.toAbsolutePath().normalize())) {
+                throw new IllegalArgumentException("--out and --baseline are the same file: " + out);
+            }
+            baselineResults = readReport(baseline);
+        }
+
+        MacroBenchmark bench = new MacroBenchmark(dangerField, levelOfDetail);
+        List<Result> results = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            // warm-up runs let the JIT compile the hot paths; the same seeds make them identical to the measured run
+            for (int w = 0; w < warmup; w++) {
+                bench.run(scenario);
+            }
+            Result r = bench.run(scenario);
+            results.add(r);
+            System.out.printf(Locale.ROOT, "%-8s [%s] %8d ticks %5d gens %7.2f s  %10.0f ticks/s %9.1f gens/min  %8.1f MB/s alloc  GC %d ms (%d)  peak heap %d MB%n",
+                    r.scenario(), r.configuration(), r.ticks(), r.generations(), r.seconds(), r.ticksPerSecond(), r.generationsPerMinute(),
+                    r.allocatedBytesPerSecond() / 1e6, r.gcPauseMs(), r.gcCount(), r.peakHeapBytes() >> 20);
+        }
+        writeReport(results, out);
+        System.out.println("Report written to " + out);
+
+        if (baselineResults != null) {
+            int regressions;
+            try {
+                regressions = compare(results, baselineResults, threshold);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.exit(2);
+                return;
+            }
+            if (regressions > 0) {
+                System.out.printf(Locale.ROOT, "%d scenario(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package game.events;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread draining one EventCursor into a listener.
+ */
+public class EventConsumer extends Thread {
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final EventCursor cursor;
+    private final GameEventListener listener;
+    private volatile boolean running = true;
+
+    EventConsumer(EventCursor cursor, GameEventListener listener, String name) {
+        super(name);
+        this.cursor = cursor;
+        this.listener = listener;
+        setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            if (cursor.drain(listener) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        cursor.drain(listener);
+    }
+
+    public void shutdown() {
+        running = false;
+    }
+
+    public long getLost() {
+        return cursor.getLost();
+    }
+}
@@ -0,0 +1,42 @@
+package game.events;
+
+/**
+ * One consumer's read position in a GameEventRing. Not thread-safe: drain from a single thread.
+ */
+public class EventCursor {
+    private final GameEventRing ring;
+    private long next;
+    private long lost = 0;
+
+    EventCursor(GameEventRing ring, long start) {
+        this.ring = ring;
+        this.next = start;
+    }
+
+    /**
+     * Delivers all events published since the last call and returns how many were delivered.
+     */
+    public int drain(GameEventListener listener) {
+        long published = ring.getPublished();
+        int delivered = 0;
+        while (next <= published) {
+            long oldest = published - ring.getCapacity() + 1;
+            if (next < oldest) {
+                lost += oldest - next;
+                next = oldest;
+            }
+            if (ring.read(next, listener)) {
+                delivered++;
+            } else {
+                lost++;
+            }
+            next++;
+        }
+        return delivered;
+    }
+
+    /** Events this cursor missed because it fell more than a ring's capacity behind. */
+    public long getLost() {
+        return lost;
+    }
+}
@@ -0,0 +1,9 @@
+package game.events;
+
+/**
+ * Receives events as primitives, so delivering an event allocates nothing.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+    void onEvent(GameEventType type, double x, double y, double value);
+}
@@ -0,0 +1,101 @@
+package game.events;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Preallocated single-producer / multi-consumer ring buffer of game events.
+ *
+ * The simulation thread publishes into fixed slots of primitive arrays (no allocation, no locks) and never waits
+ * for consumers. Each consumer owns an EventCursor and reads at its own pace; a consumer that falls more than
+ * capacity events behind skips the overwritten ones and counts them as lost. With no consumers attached,
+ * publishing is a handful of array stores.
+ *
+ * Slots are guarded seqlock-style: the producer marks a slot as being written, fills it, then stamps it with the
+ * event's sequence number; a reader only accepts the slot if the stamp is the expected sequence both before and
+ * after copying the fields out.
+ */
+public class GameEventRing {
+    private static final long WRITING = -1;
+
+    private final int mask;
+    private final int[] types;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] values;
+    private final AtomicLongArray stamps;
+    // sequence of the last published event, -1 when empty
+    private final AtomicLong published = new AtomicLong(-1);
+    private long next = 0;
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two
+     */
+    public GameEventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        types = new int[size];
+        xs = new double[size];
+        ys = new double[size];
+        values = new double[size];
+        stamps = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            stamps.set(i, WRITING);
+        }
+    }
+
+    /**
+     * Publishes an event. Must only be called from the single producer (simulation) thread.
+     */
+    public void publish(GameEventType type, double x, double y, double value) {
+        long seq = next++;
+        int slot = (int) (seq & mask);
+        stamps.setPlain(slot, WRITING);
+        VarHandle.storeStoreFence();
+        types[slot] = type.ordinal();
+        xs[slot] = x;
+        ys[slot] = y;
+        values[slot] = value;
+        stamps.setRelease(slot, seq);
+        published.setRelease(seq);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Creates a cursor positioned after the last published event; it will see everything published from now on.
+     */
+    public EventCursor newCursor() {
+        return new EventCursor(this, published.getAcquire() + 1);
+    }
+
+    /**
+     * Starts a daemon thread that delivers every event to listener, sleeping briefly whenever the ring is empty.
+     */
+    public EventConsumer subscribe(String name, GameEventListener listener) {
+        EventConsumer consumer = new EventConsumer(newCursor(), listener, name);
+        consumer.start();
+        return consumer;
+    }
+
+    long getPublished() {
+        return published.getAcquire();
+    }
+
+    /**
+     * Copies event seq to listener. Returns false if the slot was overwritten before or while it was read.
+     */
+    boolean read(long seq, GameEventListener listener) {
+        int slot = (int) (seq & mask);
+        if (stamps.getAcquire(slot) != seq) return false;
+        int type = types[slot];
+        double x = xs[slot], y = ys[slot], value = values[slot];
+        VarHandle.loadLoadFence();
+        if (stamps.getPlain(slot) != seq) return false;
+        listener.onEvent(GameEventType.of(type), x, y, value);
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package game.events;
+
+public enum GameEventType {
+    /** x, y: aim point; value: shot power. */
+    SHOT_FIRED,
+    /** x, y: target position; value: target index in the population. */
+    TARGET_HIT,
+    /** x, y: target position; value: fitness at death. */
+    TARGET_DIED,
+    /** x, y unused; value: generation number that just started. */
+    GENERATION_EVOLVED;
+
+    private static final GameEventType[] VALUES = values();
+
+    static GameEventType of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
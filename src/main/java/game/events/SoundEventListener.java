@@ -0,0 +1,23 @@
+package game.events;
+
+import utils.SoundManager;
+
+import java.util.Random;
+
+import static utils.Constants.EXPLOSION_SOUNDS;
+
+/**
+ * Plays the sound effects for shots and kills.
+ */
+public class SoundEventListener implements GameEventListener {
+    private final Random rand = new Random();
+
+    @Override
+    public void onEvent(GameEventType type, double x, double y, double value) {
+        switch (type) {
+            case SHOT_FIRED -> SoundManager.playSoundEffect("/sounds/shotgun.wav");
+            case TARGET_DIED -> SoundManager.playSoundEffect(EXPLOSION_SOUNDS[rand.nextInt(EXPLOSION_SOUNDS.length)]);
+            default -> { }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package game.tuning;
+
+import ai.genetics.GeneticConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Candidate values for each GeneticConfig parameter.
+ * grid() enumerates every combination; random() samples uniformly between each parameter's min and max.
+ */
+public class SearchSpace {
+    private final double[] mutationRates;
+    private final double[] mutationStrengths;
+    private final int[] eliteCounts;
+    private final int[] tournamentSizes;
+
+    public SearchSpace(double[] mutationRates, double[] mutationStrengths, int[] eliteCounts, int[] tournamentSizes) {
+        if (mutationRates.length == 0 || mutationStrengths.length == 0 || eliteCounts.length == 0 || tournamentSizes.length == 0) {
+            throw new IllegalArgumentException("every parameter needs at least one candidate value");
+        }
+        this.mutationRates = mutationRates;
+        this.mutationStrengths = mutationStrengths;
+        this.eliteCounts = eliteCounts;
+        this.tournamentSizes = tournamentSizes;
+    }
+
+    public static SearchSpace defaults() {
+        return new SearchSpace(
+                new double[]{0.1, 0.2, 0.3, 0.5},
+                new double[]{0.1, 0.2, 0.35, 0.6},
+                new int[]{1, 3, 5},
+                new int[]{2, 3, 5});
+    }
+
+    public List<GeneticConfig> grid() {
+        List<GeneticConfig> configs = new ArrayList<>();
+        for (double rate : mutationRates) {
+            for (double strength : mutationStrengths) {
+                for (int elites : eliteCounts) {
+                    for (int tournament : tournamentSizes) {
+                        configs.add(new GeneticConfig(rate, strength, elites, tournament));
+                    }
+                }
+            }
+        }
+        return configs;
+    }
+
+    public List<GeneticConfig> random(int samples, Random rand) {
+        List<GeneticConfig> configs = new ArrayList<>();
+        for (int i = 0; i < samples; i++) {
+            configs.add(new GeneticConfig(
+                    uniform(mutationRates, rand),
+                    uniform(mutationStrengths, rand),
+                    (int) Math.round(uniform(toDouble(eliteCounts), rand)),
+                    (int) Math.round(uniform(toDouble(tournamentSizes), rand))));
+        }
+        return configs;
+    }
+
+    private static double uniform(double[] values, Random rand) {
+        double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+        for (double v : values) {
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        return min + (max - min) * rand.nextDouble();
+    }
+
+    private static double[] toDouble(int[] values) {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) result[i] = values[i];
+        return result;
+    }
+}
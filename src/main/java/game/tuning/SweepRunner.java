@@ -0,0 +1,212 @@
+package game.tuning;
+
+import ai.GenerationStats;
+import ai.genetics.GeneticConfig;
+import game.AutoShooter;
+import game.FitnessWeights;
+import game.GameEngine;
+import game.HeadlessSimulation;
+import game.RacingEvaluator;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless hyperparameter sweep over GeneticConfig.
+ * Every configuration is run with the same set of seeds (so configurations see identical
+ * shooter behaviour and start positions) on a thread pool sized to the available cores,
+ * and a report ranked by final fitness is printed and written as CSV.
+ * With --episodes K > 1 each generation is scored by a RacingEvaluator over up to K episodes.
+ *
+ * Usage: SweepRunner [--mode grid|random] [--samples N] [--seeds N] [--generations N]
+ *                    [--population N] [--round-ticks N] [--episodes K] [--out report.csv]
+ *                    [--mutation-rate a,b,..] [--mutation-strength a,b,..] [--elites a,b,..] [--tournament a,b,..]
+ */
+public class SweepRunner {
+    // a run has converged once it covers this fraction of the distance from first to final fitness
+    private static final double CONVERGENCE_FRACTION = 0.9;
+    // final fitness is averaged over this many trailing generations
+    private static final int FINAL_WINDOW = 5;
+
+    public record Result(GeneticConfig config, double finalFitness, double finalFitnessStdDev, double convergenceGeneration) {}
+
+    private final int seeds;
+    private final int generations;
+    private final int population;
+    private final int maxRoundTicks;
+    private final int episodes;
+
+    public SweepRunner(int seeds, int generations, int population, int maxRoundTicks, int episodes) {
+        this.seeds = seeds;
+        this.generations = generations;
+        this.population = population;
+        this.maxRoundTicks = maxRoundTicks;
+        this.episodes = episodes;
+    }
+
+    public List<Result> run(List<GeneticConfig> configs) throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<List<Future<double[]>>> futures = new ArrayList<>();
+            for (GeneticConfig config : configs) {
+                List<Future<double[]>> perSeed = new ArrayList<>();
+                for (int s = 0; s < seeds; s++) {
+                    long seed = s;
+                    perSeed.add(pool.submit(() -> runOnce(config, seed)));
+                }
+                futures.add(perSeed);
+            }
+            List<Result> results = new ArrayList<>();
+            for (int c = 0; c < configs.size(); c++) {
+                List<double[]> curves = new ArrayList<>();
+                for (Future<double[]> f : futures.get(c)) {
+                    curves.add(f.get());
+                }
+                results.add(summarize(configs.get(c), curves));
+            }
+            results.sort(Comparator.comparingDouble(Result::finalFitness).reversed()
+                    .thenComparingDouble(Result::convergenceGeneration));
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Mean population fitness per generation for one configuration and seed. */
+    private double[] runOnce(GeneticConfig config, long seed) {
+        GameEngine engine = new GameEngine(config, FitnessWeights.DEFAULT, population, false, seed);
+        RacingEvaluator racing = null;
+        if (episodes > 1) {
+            RacingEvaluator.Settings defaults = RacingEvaluator.Settings.DEFAULT;
+            racing = new RacingEvaluator(new RacingEvaluator.Settings(episodes, Math.min(episodes, defaults.minEpisodes()),
+                    defaults.z(), defaults.keepFraction()), seed);
+        }
+        HeadlessSimulation sim = new HeadlessSimulation(engine, new AutoShooter(seed, 12, 1, 3.0), maxRoundTicks, racing);
+        double[] curve = new double[generations];
+        for (int g = 0; g < generations; g++) {
+            GenerationStats stats = sim.runGeneration();
+            curve[g] = stats.getMean();
+        }
+        return curve;
+    }
+
+    private Result summarize(GeneticConfig config, List<double[]> curves) {
+        double sum = 0, sum2 = 0, convergence = 0;
+        for (double[] curve : curves) {
+            int window = Math.min(FINAL_WINDOW, curve.length);
+            double last = 0;
+            for (int g = curve.length - window; g < curve.length; g++) last += curve[g];
+            last /= window;
+            sum += last;
+            sum2 += last * last;
+            convergence += convergenceGeneration(curve, last);
+        }
+        int n = curves.size();
+        double mean = sum / n;
+        double std = Math.sqrt(Math.max(0, sum2 / n - mean * mean));
+        return new Result(config, mean, std, convergence / n);
+    }
+
+    private static int convergenceGeneration(double[] curve, double finalFitness) {
+        double threshold = curve[0] + CONVERGENCE_FRACTION * (finalFitness - curve[0]);
+        if (finalFitness <= curve[0]) return curve.length;
+        for (int g = 0; g < curve.length; g++) {
+            if (curve[g] >= threshold) return g + 1;
+        }
+        return curve.length;
+    }
+
+    public static void writeReport(List<Result> results, Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("rank,mutation_rate,mutation_strength,elite_count,tournament_size,final_fitness,final_fitness_std,convergence_generation");
+            for (int i = 0; i < results.size(); i++) {
+                Result r = results.get(i);
+                out.printf(Locale.ROOT, "%d,%.4f,%.4f,%d,%d,%.4f,%.4f,%.2f%n", i + 1,
+                        r.config().mutationRate(), r.config().mutationStrength(), r.config().eliteCount(),
+                        r.config().tournamentSize(), r.finalFitness(), r.finalFitnessStdDev(), r.convergenceGeneration());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        String mode = "grid";
+        int samples = 32, seeds = 4, generations = 30, population = 20, roundTicks = 1500, episodes = 1;
+        Path out = Path.of("sweep-report.csv");
+        SearchSpace defaults = SearchSpace.defaults();
+        double[] rates = null, strengths = null;
+        int[] elites = null, tournaments = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--mode" -> mode = value;
+                case "--samples" -> samples = Integer.parseInt(value);
+                case "--seeds" -> seeds = Integer.parseInt(value);
+                case "--generations" -> generations = Integer.parseInt(value);
+                case "--population" -> population = Integer.parseInt(value);
+                case "--round-ticks" -> roundTicks = Integer.parseInt(value);
+                case "--episodes" -> episodes = Integer.parseInt(value);
+                case "--out" -> out = Path.of(value);
+                case "--mutation-rate" -> rates = parseDoubles(value);
+                case "--mutation-strength" -> strengths = parseDoubles(value);
+                case "--elites" -> elites = parseInts(value);
+                case "--tournament" -> tournaments = parseInts(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+        SearchSpace space = (rates == null && strengths == null && elites == null && tournaments == null)
+                ? defaults
+                : new SearchSpace(
+                        rates != null ? rates : new double[]{0.30},
+                        strengths != null ? strengths : new double[]{0.35},
+                        elites != null ? elites : new int[]{3},
+                        tournaments != null ? tournaments : new int[]{3});
+        List<GeneticConfig> configs = switch (mode) {
+            case "grid" -> space.grid();
+            case "random" -> space.random(samples, new Random(42));
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+
+        System.out.printf("Sweeping %d configurations x %d seeds on %d threads%n",
+                configs.size(), seeds, Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        List<Result> results = new SweepRunner(seeds, generations, population, roundTicks, episodes).run(configs);
+        writeReport(results, out);
+
+        System.out.printf("Done in %.1f s, report written to %s%n", (System.nanoTime() - start) / 1e9, out);
+        for (int i = 0; i < Math.min(10, results.size()); i++) {
+            Result r = results.get(i);
+            System.out.printf(Locale.ROOT, "%2d. %s -> final %.2f (+/- %.2f), converged at gen %.1f%n",
+                    i + 1, r.config(), r.finalFitness(), r.finalFitnessStdDev(), r.convergenceGeneration());
+        }
+    }
+
+    private static double[] parseDoubles(String csv) {
+        String[] parts = csv.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Double.parseDouble(parts[i].trim());
+        return values;
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Integer.parseInt(parts[i].trim());
+        return values;
+    }
+}
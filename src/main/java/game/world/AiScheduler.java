@@ -0,0 +1,75 @@
+package game.world;
+
+import model.Shot;
+
+import java.util.List;
+
+/**
+ * Level-of-detail scheduling for target AI.
+ * Every tick the path of each active shot is predicted LOOKAHEAD_TICKS ahead and the chunks it crosses are
+ * stamped as threatened. A chunk is ACTIVE if it or one of its 8 neighbours is threatened (the target threat
+ * zone, 200 px, is smaller than a chunk); targets there run their full AI every tick. Everywhere else targets
+ * are IDLE: they think once every IDLE_INTERVAL ticks (staggered by index, so the work is spread evenly) and
+ * coast on their last move in between. Because tiers are recomputed from scratch each tick, a target is
+ * promoted the moment a shot's predicted path comes near, well before the shot itself does.
+ */
+public class AiScheduler {
+    public static final int LOOKAHEAD_TICKS = 20;
+    public static final int IDLE_INTERVAL = 4;
+
+    public enum Tier { ACTIVE, IDLE }
+
+    private final int worldWidth;
+    private final int worldHeight;
+    private final ChunkGrid grid;
+    // tick at which the chunk was last found on a predicted shot path; avoids clearing the map every tick
+    private final long[] threatStamp;
+    private long tick = 0;
+
+    public AiScheduler(ChunkGrid grid, int worldWidth, int worldHeight) {
+        this.grid = grid;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.threatStamp = new long[grid.getChunksX() * grid.getChunksY()];
+    }
+
+    /**
+     * Starts a new tick: stamps the predicted paths of the given shots.
+     */
+    public void beginTick(List<Shot> shots) {
+        tick++;
+        for (Shot shot : shots) {
+            double x = shot.x, y = shot.y, vx = shot.vx, vy = shot.vy;
+            // a shot moves at most Shot.MAX_SPEED (< CHUNK_SIZE) per tick, so consecutive samples never skip a chunk
+            for (int step = 0; step <= LOOKAHEAD_TICKS; step++) {
+                if (x < 0 || x > worldWidth || y < 0 || y > worldHeight) break;
+                threatStamp[grid.chunkAt(x, y)] = tick;
+                vx *= Shot.DRAG;
+                vy *= Shot.DRAG;
+                vy += Shot.GRAVITY;
+                x += vx;
+                y += vy;
+            }
+        }
+    }
+
+    public Tier tierOf(int chunk) {
+        int cx = chunk % grid.getChunksX(), cy = chunk / grid.getChunksX();
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int neighbour = grid.chunkIndex(cx + dx, cy + dy);
+                if (neighbour >= 0 && threatStamp[neighbour] == tick) {
+                    return Tier.ACTIVE;
+                }
+            }
+        }
+        return Tier.IDLE;
+    }
+
+    /**
+     * Whether an idle target with the given id runs its full AI this tick.
+     */
+    public boolean isIdleThinkTick(int id) {
+        return (tick + id) % IDLE_INTERVAL == 0;
+    }
+}
@@ -0,0 +1,91 @@
+package game.world;
+
+import java.util.Arrays;
+
+/**
+ * Buckets entity indices by fixed-size square chunks of the world, rebuilt every tick with a counting sort.
+ * Storage is compact (CSR layout): one offset per chunk plus one int per entity, and a list of occupied chunks,
+ * so empty chunks cost nothing to skip no matter how large the world is.
+ */
+public class ChunkGrid {
+    public static final int CHUNK_SIZE = 256;
+
+    private final int chunksX;
+    private final int chunksY;
+    private final int[] start;
+    private final int[] fill;
+    private int[] items = new int[64];
+    private int[] chunkOfEntry = new int[64];
+    private int[] occupied;
+    private int occupiedCount = 0;
+
+    public ChunkGrid(int worldWidth, int worldHeight) {
+        chunksX = Math.max(1, (worldWidth + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        chunksY = Math.max(1, (worldHeight + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        start = new int[chunksX * chunksY + 1];
+        fill = new int[chunksX * chunksY];
+        occupied = new int[16];
+    }
+
+    /**
+     * Rebuilds the buckets from count entities: ids[i] is stored in the chunk containing (xs[i], ys[i]).
+     */
+    public void build(int count, int[] ids, int[] xs, int[] ys) {
+        if (items.length < count) {
+            items = new int[Math.max(count, items.length * 2)];
+            chunkOfEntry = new int[items.length];
+        }
+        Arrays.fill(fill, 0);
+        occupiedCount = 0;
+        for (int i = 0; i < count; i++) {
+            int chunk = chunkAt(xs[i], ys[i]);
+            chunkOfEntry[i] = chunk;
+            if (fill[chunk]++ == 0) {
+                if (occupiedCount == occupied.length) occupied = Arrays.copyOf(occupied, occupied.length * 2);
+                occupied[occupiedCount++] = chunk;
+            }
+        }
+        int offset = 0;
+        for (int c = 0; c < fill.length; c++) {
+            start[c] = offset;
+            offset += fill[c];
+            fill[c] = start[c];
+        }
+        start[fill.length] = offset;
+        for (int i = 0; i < count; i++) {
+            items[fill[chunkOfEntry[i]]++] = ids[i];
+        }
+    }
+
+    public int chunkAt(double x, double y) {
+        int cx = Math.max(0, Math.min(chunksX - 1, (int) Math.floor(x / CHUNK_SIZE)));
+        int cy = Math.max(0, Math.min(chunksY - 1, (int) Math.floor(y / CHUNK_SIZE)));
+        return cy * chunksX + cx;
+    }
+
+    public int getChunksX() { return chunksX; }
+    public int getChunksY() { return chunksY; }
+
+    /** Number of chunks holding at least one entity. */
+    public int getOccupiedCount() { return occupiedCount; }
+
+    /** Chunk index of the i-th occupied chunk. */
+    public int getOccupied(int i) { return occupied[i]; }
+
+    /** Offset of the chunk's first entity in the item array (see get). */
+    public int chunkStart(int chunk) { return start[chunk]; }
+
+    /** Offset one past the chunk's last entity. */
+    public int chunkEnd(int chunk) { return start[chunk + 1]; }
+
+    /** Entity id stored at the given item offset. */
+    public int get(int offset) { return items[offset]; }
+
+    /**
+     * Index of the chunk at chunk coordinates (cx, cy), or -1 outside the world.
+     */
+    public int chunkIndex(int cx, int cy) {
+        if (cx < 0 || cy < 0 || cx >= chunksX || cy >= chunksY) return -1;
+        return cy * chunksX + cx;
+    }
+}
@@ -0,0 +1,156 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * All explosion particles, in one fixed-capacity pool laid out as parallel arrays.
+ * Owned by the renderer, which spawns explosions from TARGET_DIED events and advances them once per simulation tick.
+ * - Spawning and dying never allocate: dead particles are swap-removed, and spawns beyond capacity are dropped.
+ * - Drawing uses pre-rendered sprites, one per colour, radius and quantised alpha (16 levels), so a frame
+ *   is a run of image blits with no composite or colour switches, however many particles a whole
+ *   generation's death produced. Blitting a translucent sprite is far cheaper than a composited fillOval.
+ */
+public class Explosions {
+    public static final int DEFAULT_CAPACITY = 4096;
+    private static final int PARTICLES_PER_EXPLOSION = 18;
+    private static final Color[] COLORS = {Color.YELLOW, Color.ORANGE, Color.RED};
+    private static final int MIN_RADIUS = 5;
+    private static final int RADIUS_VARIANTS = 3;
+    private static final int ALPHA_LEVELS = 16;
+    // [colour][radius - MIN_RADIUS][alpha level], rendered on first use
+    private static final BufferedImage[][][] SPRITES = new BufferedImage[COLORS.length][RADIUS_VARIANTS][ALPHA_LEVELS];
+
+    private final Random rand = new Random();
+    private final float[] x, y, vx, vy, alpha;
+    private final byte[] color;
+    private final byte[] radius;
+    private final short[] life;
+    private int count = 0;
+    private long dropped = 0;
+
+    public Explosions() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public Explosions(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        alpha = new float[capacity];
+        color = new byte[capacity];
+        radius = new byte[capacity];
+        life = new short[capacity];
+    }
+
+    public void spawn(double cx, double cy) {
+        for (int i = 0; i < PARTICLES_PER_EXPLOSION; i++) {
+            if (count == x.length) {
+                dropped += PARTICLES_PER_EXPLOSION - i;
+                return;
+            }
+            double angle = 2 * Math.PI * i / PARTICLES_PER_EXPLOSION;
+            float speed = 2.5f + rand.nextFloat() * 2.2f;
+            int c = 0;
+            if (rand.nextDouble() < 0.4) c = 1;
+            if (rand.nextDouble() < 0.2) c = 2;
+            int p = count++;
+            x[p] = (float) cx;
+            y[p] = (float) cy;
+            vx[p] = (float) (Math.cos(angle) * speed);
+            vy[p] = (float) (Math.sin(angle) * speed);
+            alpha[p] = 1.0f;
+            color[p] = (byte) c;
+            radius[p] = (byte) (MIN_RADIUS + rand.nextInt(RADIUS_VARIANTS));
+            life[p] = (short) (18 + rand.nextInt(10));
+        }
+    }
+
+    /**
+     * Advances every particle by one simulation tick and removes the dead ones.
+     */
+    public void update() {
+        int p = 0;
+        while (p < count) {
+            if (life[p] <= 0 || alpha[p] <= 0.01f) {
+                remove(p);
+                continue;
+            }
+            x[p] += vx[p];
+            y[p] += vy[p];
+            vx[p] *= 0.92f;
+            vy[p] *= 0.92f;
+            // gravity effect
+            vy[p] += 0.12f;
+            life[p]--;
+            alpha[p] *= 0.93f;
+            p++;
+        }
+    }
+
+    // swap-remove: the last particle takes slot p
+    private void remove(int p) {
+        int last = --count;
+        x[p] = x[last];
+        y[p] = y[last];
+        vx[p] = vx[last];
+        vy[p] = vy[last];
+        alpha[p] = alpha[last];
+        color[p] = color[last];
+        radius[p] = radius[last];
+        life[p] = life[last];
+    }
+
+    public void draw(Graphics2D g) {
+        for (int p = 0; p < count; p++) {
+            int r = radius[p];
+            int level = Math.min(ALPHA_LEVELS - 1, (int) (alpha[p] * ALPHA_LEVELS));
+            g.drawImage(sprite(color[p], r, level), (int) (x[p] - r), (int) (y[p] - r), null);
+        }
+    }
+
+    private static BufferedImage sprite(int c, int r, int level) {
+        BufferedImage sprite = SPRITES[c][r - MIN_RADIUS][level];
+        if (sprite == null) {
+            sprite = new BufferedImage(r * 2, r * 2, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = sprite.createGraphics();
+            Color base = COLORS[c];
+            int a = Math.round(255 * (level + 0.5f) / ALPHA_LEVELS);
+            g.setColor(new Color(base.getRed(), base.getGreen(), base.getBlue(), a));
+            g.fillOval(0, 0, r * 2, r * 2);
+            g.dispose();
+            SPRITES[c][r - MIN_RADIUS][level] = sprite;
+        }
+        return sprite;
+    }
+
+    /**
+     * Writes the area covered by all particles into out (empty if there are none).
+     */
+    public void getPaintBounds(Rectangle out) {
+        out.setBounds(0, 0, 0, 0);
+        if (count == 0) return;
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int p = 0; p < count; p++) {
+            int r = radius[p] + 1;
+            minX = Math.min(minX, x[p] - r);
+            minY = Math.min(minY, y[p] - r);
+            maxX = Math.max(maxX, x[p] + r);
+            maxY = Math.max(maxY, y[p] + r);
+        }
+        out.setBounds((int) minX - 1, (int) minY - 1, (int) (maxX - minX) + 3, (int) (maxY - minY) + 3);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /** Particles not spawned because the pool was full. */
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import ai.ShotHistory;
+
+/**
+ * Plain-loop TargetKernel; the reference the vector kernel has to match.
+ */
+final class ScalarTargetKernel implements TargetKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void think(TargetStore store, int[] ids, int count, double[] shotXs, double[] shotYs, int shotCount,
+                      ShotHistory shotHistory, int width, int height) {
+        for (int k = 0; k < count; k++) {
+            int i = ids[k];
+            if (!store.alive[i]) continue;
+            double randomX = (store.nextDouble(i) - 0.5) * store.randomScale[i] * 8;
+            double randomY = (store.nextDouble(i) - 0.5) * store.randomScale[i] * 8;
+            double px = store.x[i], py = store.y[i];
+            double avoidX = 0, avoidY = 0;
+            for (int s = 0; s < shotCount; s++) {
+                double dx = px - shotXs[s];
+                double dy = py - shotYs[s];
+                double dist2 = dx * dx + dy * dy;
+                if (dist2 < 40000) { // "Threat" zone (200 px radius)
+                    avoidX += dx / (dist2 + 1);
+                    avoidY += dy / (dist2 + 1);
+                }
+            }
+            store.move(i, randomX, randomY, avoidX, avoidY, shotHistory, width, height);
+        }
+    }
+
+    @Override
+    public void proximity(TargetStore store, int[] ids, int count, double[] shotXs, double[] shotYs, int shotCount,
+                          double nearMissRadius, double nearMissWeight,
+                          double[] neighbourXs, double[] neighbourYs, int neighbourCount, double clusterDistance2,
+                          double[] nearMissOut, int[] clusterOut) {
+        for (int k = 0; k < count; k++) {
+            int i = ids[k];
+            double px = store.x[i], py = store.y[i];
+            double nearMiss = 0;
+            for (int s = 0; s < shotCount; s++) {
+                double dx = px - shotXs[s];
+                double dy = py - shotYs[s];
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                if (distance < nearMissRadius && distance > TargetStore.RADIUS) {
+                    nearMiss += nearMissWeight / (distance + 10);
+                }
+            }
+            int close = 0;
+            for (int n = 0; n < neighbourCount; n++) {
+                double dx = px - neighbourXs[n];
+                double dy = py - neighbourYs[n];
+                if (dx * dx + dy * dy < clusterDistance2) {
+                    close++;
+                }
+            }
+            nearMissOut[k] = nearMiss;
+            // the target itself is among the neighbours
+            clusterOut[k] = Math.max(0, close - 1);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package model;
+
+import ai.ShotHistory;
+
+/**
+ * Batched per-tick work over a group of targets in a TargetStore (in practice, the targets of one world chunk).
+ * Shots are passed as primitive coordinate arrays. Both operations are exact batch equivalents of the
+ * per-target scalar code, so the two implementations produce identical results:
+ * - ScalarTargetKernel: plain loops, always available.
+ * - VectorTargetKernel: jdk.incubator.vector, one target per SIMD lane; opt-in with -Dshootage.kernel=vector
+ *   and --add-modules jdk.incubator.vector.
+ */
+public interface TargetKernel {
+
+    /**
+     * Runs the AI step of TargetStore.update for ids[0..count), avoiding shots [0..shotCount).
+     * The memo shot is not touched: update() points it at the nearest shot in the whole world, which the
+     * caller knows and a group's nearby shots may not include, so the caller refreshes it beforehand.
+     */
+    void think(TargetStore store, int[] ids, int count, double[] shotXs, double[] shotYs, int shotCount,
+               ShotHistory shotHistory, int width, int height);
+
+    /**
+     * Computes the proximity terms of the fitness for ids[0..count):
+     * nearMissOut[k] = sum of nearMissWeight / (d + 10) over shots with RADIUS < d < nearMissRadius,
+     * clusterOut[k] = number of other targets among the neighbours closer than sqrt(clusterDistance2).
+     * The neighbour arrays must contain every live target around the group, the group itself included.
+     */
+    void proximity(TargetStore store, int[] ids, int count, double[] shotXs, double[] shotYs, int shotCount,
+                   double nearMissRadius, double nearMissWeight,
+                   double[] neighbourXs, double[] neighbourYs, int neighbourCount, double clusterDistance2,
+                   double[] nearMissOut, int[] clusterOut);
+
+    /**
+     * Short name of the implementation, "scalar" or "vector", for logs and benchmark reports.
+     */
+    String name();
+
+    /**
+     * The scalar kernel, unless -Dshootage.kernel=vector is set and jdk.incubator.vector is present.
+     * The vector kernel is opt-in: it only pays off for very large, dense populations, and on JVMs where the
+     * Vector API is not intrinsified it is slower than the scalar loops and allocates on every operation.
+     * The vector class is only loaded after the module check, so running without the module never touches it.
+     */
+    static TargetKernel create() {
+        if ("vector".equalsIgnoreCase(System.getProperty("shootage.kernel"))) {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    return (TargetKernel) Class.forName("model.VectorTargetKernel").getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    System.err.println("Vector kernel unavailable, using scalar kernel: " + e);
+                }
+            } else {
+                System.err.println("Vector kernel needs --add-modules jdk.incubator.vector, using scalar kernel");
+            }
+        }
+        return new ScalarTargetKernel();
+    }
+}
@@ -0,0 +1,379 @@
+package model;
+
+import ai.DangerField;
+import ai.ShotHistory;
+import ai.genetics.Genome;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * State of a whole population of targets as primitive parallel arrays (structure of arrays).
+ * Target objects are thin views (store + index) used for rendering and by the optimizers;
+ * the simulation works on these arrays directly, in batches, through a TargetKernel.
+
+ * Each target's random source is a java.util.Random-compatible LCG held in a long, so sequences
+ * match what a per-target Random seeded the same way would produce, without the object.
+ * The genome's genes are decoded into per-target behaviour scales when it is assigned.
+ */
+public class TargetStore {
+    public static final int RADIUS = 30;
+    // the weighted fitness terms, also kept apart for multi-objective selection (all maximised)
+    public static final int OBJECTIVE_SURVIVAL = 0;   // survival reward and death penalty
+    public static final int OBJECTIVE_NEAR_MISS = 1;
+    public static final int OBJECTIVE_CLUSTERING = 2;
+    public static final int OBJECTIVE_MOVEMENT = 3;
+    public static final int OBJECTIVE_HOT_ZONE = 4;
+    public static final int OBJECTIVES = 5;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    // danger-field steering: pixels of push per unit of gradient, before the genes' scales
+    private static final double DANGER_GAIN = 1.5;
+    private static final double HEAT_GAIN = 4.0;
+
+    private int size = 0;
+    int[] x = new int[0];
+    int[] y = new int[0];
+    double[] fitness = new double[0];
+    // OBJECTIVES values per target, target-major
+    double[] objectives = new double[0];
+    boolean[] alive = new boolean[0];
+    long[] seed = new long[0];
+    // memo: last closest shot x, y and last move x, y; per-round memory, resets every round
+    double[] memoShotX = new double[0];
+    double[] memoShotY = new double[0];
+    double[] lastMoveX = new double[0];
+    double[] lastMoveY = new double[0];
+    double[] lastMoveDistance = new double[0];
+    // decoded genes
+    double[] randomScale = new double[0];
+    double[] avoidanceScale = new double[0];
+    double[] historyScale = new double[0];
+    double[] memoScale = new double[0];
+    private Genome[] genomes = new Genome[0];
+    // hit flash, only used for rendering
+    private boolean[] recentlyHit = new boolean[0];
+    private long[] hitTimestamp = new long[0];
+    private float[] hitFlashAlpha = new float[0];
+    private final double[] fieldSample = new double[DangerField.SAMPLE_SIZE];
+
+    public TargetStore() {
+        this(16);
+    }
+
+    public TargetStore(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * Appends a live target and returns its index. Equivalent to a Target with new Random(seed).
+     */
+    public int add(int x, int y, Genome genome, long seed) {
+        ensureCapacity(size + 1);
+        int i = size++;
+        respawn(i, x, y, genome, seed);
+        return i;
+    }
+
+    /**
+     * Drops every target from index newSize on.
+     */
+    public void truncate(int newSize) {
+        if (newSize < size) {
+            Arrays.fill(genomes, newSize, size, null);
+            size = newSize;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= x.length) return;
+        int n = Math.max(capacity, x.length * 2);
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        fitness = Arrays.copyOf(fitness, n);
+        objectives = Arrays.copyOf(objectives, n * OBJECTIVES);
+        alive = Arrays.copyOf(alive, n);
+        seed = Arrays.copyOf(seed, n);
+        memoShotX = Arrays.copyOf(memoShotX, n);
+        memoShotY = Arrays.copyOf(memoShotY, n);
+        lastMoveX = Arrays.copyOf(lastMoveX, n);
+        lastMoveY = Arrays.copyOf(lastMoveY, n);
+        lastMoveDistance = Arrays.copyOf(lastMoveDistance, n);
+        randomScale = Arrays.copyOf(randomScale, n);
+        avoidanceScale = Arrays.copyOf(avoidanceScale, n);
+        historyScale = Arrays.copyOf(historyScale, n);
+        memoScale = Arrays.copyOf(memoScale, n);
+        genomes = Arrays.copyOf(genomes, n);
+        recentlyHit = Arrays.copyOf(recentlyHit, n);
+        hitTimestamp = Arrays.copyOf(hitTimestamp, n);
+        hitFlashAlpha = Arrays.copyOf(hitFlashAlpha, n);
+    }
+
+    /**
+     * Turns target i into a fresh one: new position, genome and random seed, zero fitness, alive.
+     */
+    public void respawn(int i, int x, int y, Genome genome, long seed) {
+        setSeed(i, seed);
+        this.x[i] = x;
+        this.y[i] = y;
+        setGenome(i, genome);
+        clearRoundState(i);
+    }
+
+    /**
+     * Starts a new round for target i at a random position inside the given field.
+     */
+    public void reset(int i, int width, int height) {
+        x[i] = 400 + nextInt(i, Math.max(1, width - 500));
+        y[i] = 100 + nextInt(i, Math.max(1, height - 200));
+        clearRoundState(i);
+    }
+
+    private void clearRoundState(int i) {
+        fitness[i] = 0;
+        Arrays.fill(objectives, i * OBJECTIVES, (i + 1) * OBJECTIVES, 0.0);
+        alive[i] = true;
+        recentlyHit[i] = false;
+        hitTimestamp[i] = 0;
+        hitFlashAlpha[i] = 0.0f;
+        memoShotX[i] = 0;
+        memoShotY[i] = 0;
+        lastMoveX[i] = 0;
+        lastMoveY[i] = 0;
+        lastMoveDistance[i] = 0.0;
+    }
+
+    private void setGenome(int i, Genome genome) {
+        genomes[i] = genome;
+        double[] genes = genome.getGenes();
+        // clamp randomScale to [0, 1] for less erratic dodging
+        randomScale[i] = genes.length > 0 ? Math.max(0, Math.min(1, genes[0])) : 0.5;
+        avoidanceScale[i] = genes.length > 1 ? genes[1] : 1.0;
+        historyScale[i] = genes.length > 2 ? genes[2] : 1.0;
+        memoScale[i] = genes.length > 3 ? genes[3] : 1.0;
+    }
+
+    // --- java.util.Random algorithm on seed[i] ---
+
+    public void setSeed(int i, long value) {
+        seed[i] = (value ^ MULTIPLIER) & MASK;
+    }
+
+    private int next(int i, int bits) {
+        long s = (seed[i] * MULTIPLIER + ADDEND) & MASK;
+        seed[i] = s;
+        return (int) (s >>> (48 - bits));
+    }
+
+    double nextDouble(int i) {
+        return (((long) next(i, 26) << 27) + next(i, 27)) * DOUBLE_UNIT;
+    }
+
+    int nextInt(int i, int bound) {
+        int r = next(i, 31);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+        for (int u = r; u - (r = u % bound) + m < 0; u = next(i, 31)) {
+            // rejection sampling, as in Random.nextInt(int)
+        }
+        return r;
+    }
+
+    // --- per-target behaviour (scalar reference; the kernels batch the same arithmetic) ---
+
+    /**
+     * Full AI step for target i:
+     * - random movement (genes[0]) [should be in 0..1 range for less erratic motion]
+     * - avoidance of current shots (genes[1])
+     * - avoidance of shot history heatmap (genes[2])
+     * - memo: dodge away from last closest shot (short-term memory, resets each round)
+     */
+    public void update(int i, List<Shot> currentShots, ShotHistory shotHistory, int width, int height) {
+        if (!alive[i]) return;
+        double randomX = (nextDouble(i) - 0.5) * randomScale[i] * 8;
+        double randomY = (nextDouble(i) - 0.5) * randomScale[i] * 8;
+
+        // avoid current shots in the air
+        double avoidX = 0, avoidY = 0;
+        double nearestDist2 = Double.MAX_VALUE;
+        Shot nearest = null;
+        for (Shot s : currentShots) {
+            double dx = x[i] - s.x;
+            double dy = y[i] - s.y;
+            double dist2 = dx * dx + dy * dy;
+            if (dist2 < 40000) { // "Threat" zone (200 px radius)
+                avoidX += dx / (dist2 + 1);
+                avoidY += dy / (dist2 + 1);
+            }
+            if (dist2 < nearestDist2) {
+                nearestDist2 = dist2;
+                nearest = s;
+            }
+        }
+        if (nearest != null) {
+            memoShotX[i] = nearest.x;
+            memoShotY[i] = nearest.y;
+        }
+        move(i, randomX, randomY, avoidX, avoidY, shotHistory, width, height);
+    }
+
+    /**
+     * Second half of the AI step, after the shot scan: hot-zone drift, memo dodge, speed limit, clamping.
+     */
+    void move(int i, double randomX, double randomY, double avoidX, double avoidY,
+              ShotHistory shotHistory, int width, int height) {
+        avoidX *= avoidanceScale[i] * 18;
+        avoidY *= avoidanceScale[i] * 18;
+
+        // avoid "hot zones" from previous shots (shot history heatmap)
+        int hx = Math.max(0, Math.min(width - 1, x[i]));
+        int hy = Math.max(0, Math.min(height - 1, y[i]));
+        double shotDensity = shotHistory != null ? shotHistory.getDensityAt(hx, hy) : 0.0;
+        double historyAngle = nextDouble(i) * 2 * Math.PI;
+        double historyX = Math.cos(historyAngle) * historyScale[i] * shotDensity * 8;
+        double historyY = Math.sin(historyAngle) * historyScale[i] * shotDensity * 8;
+
+        double memoDx = x[i] - memoShotX[i];
+        double memoDy = y[i] - memoShotY[i];
+        double memoDist = Math.sqrt(memoDx * memoDx + memoDy * memoDy);
+        double memoMoveX = 0, memoMoveY = 0;
+        if (memoDist > 0 && memoDist < 100) { // only if recent and close
+            memoMoveX = (memoDx / memoDist) * memoScale[i] * 6;
+            memoMoveY = (memoDy / memoDist) * memoScale[i] * 6;
+        }
+
+        // combine all movement vectors
+        double moveX = randomX + avoidX + historyX + memoMoveX;
+        double moveY = randomY + avoidY + historyY + memoMoveY;
+        moveBy(i, moveX, moveY, width, height);
+    }
+
+    /**
+     * AI step for target i steering by a shared DangerField instead of scanning shots:
+     * - random movement (genes[0]), as in update()
+     * - down the gradient of the predicted shot paths (genes[1])
+     * - down the gradient of the landing heatmap (genes[2])
+     * The field already covers where the nearest shot is heading, so there is no separate memo dodge.
+     * Constant time per target, whatever the number of shots.
+     */
+    public void steer(int i, DangerField field, int width, int height) {
+        if (!alive[i]) return;
+        double randomX = (nextDouble(i) - 0.5) * randomScale[i] * 8;
+        double randomY = (nextDouble(i) - 0.5) * randomScale[i] * 8;
+        field.sample(x[i], y[i], fieldSample);
+        double avoid = avoidanceScale[i] * DANGER_GAIN;
+        double history = historyScale[i] * HEAT_GAIN;
+        double moveX = randomX - avoid * fieldSample[DangerField.DANGER_DX] - history * fieldSample[DangerField.HEAT_DX];
+        double moveY = randomY - avoid * fieldSample[DangerField.DANGER_DY] - history * fieldSample[DangerField.HEAT_DY];
+        moveBy(i, moveX, moveY, width, height);
+    }
+
+    private void moveBy(int i, double moveX, double moveY, int width, int height) {
+        // clamp maximum movement per frame
+        double maxMove = 10.0;
+        double moveMag = Math.sqrt(moveX * moveX + moveY * moveY);
+        if (moveMag > maxMove) {
+            moveX = moveX / moveMag * maxMove;
+            moveY = moveY / moveMag * maxMove;
+        }
+
+        // save last move distance for fitness penalty, and the move itself for the memo and coasting
+        lastMoveDistance[i] = Math.sqrt(moveX * moveX + moveY * moveY);
+        lastMoveX[i] = moveX;
+        lastMoveY[i] = moveY;
+
+        x[i] = clampX(x[i] + (int) moveX, width);
+        y[i] = clampY(y[i] + (int) moveY, height);
+    }
+
+    /**
+     * Cheap stand-in for update() while the AI scheduler has target i idle: repeats the last move.
+     */
+    public void coast(int i, int width, int height) {
+        if (!alive[i]) return;
+        x[i] = clampX(x[i] + (int) lastMoveX[i], width);
+        y[i] = clampY(y[i] + (int) lastMoveY[i], height);
+    }
+
+    private static int clampX(int value, int width) {
+        return Math.max(RADIUS, Math.min(width - RADIUS, value));
+    }
+
+    private static int clampY(int value, int height) {
+        return Math.max(RADIUS, Math.min(height - RADIUS, value));
+    }
+
+    public boolean isHit(int i, int shotX, int shotY) {
+        int dx = x[i] - shotX;
+        int dy = y[i] - shotY;
+        return alive[i] && (dx * dx + dy * dy <= RADIUS * RADIUS);
+    }
+
+    public void registerHit(int i) {
+        recentlyHit[i] = true;
+        hitTimestamp[i] = System.currentTimeMillis();
+        hitFlashAlpha[i] = 1.0f;
+    }
+
+    public void updateHitState(int i) {
+        if (recentlyHit[i]) {
+            long elapsed = System.currentTimeMillis() - hitTimestamp[i];
+            if (elapsed > Target.FLASH_DURATION_MS) {
+                recentlyHit[i] = false;
+                hitFlashAlpha[i] = 0.0f;
+            } else {
+                // Animate the hit flash alpha fading out
+                hitFlashAlpha[i] = Math.max(0f, 1.0f - (float) elapsed / Target.FLASH_DURATION_MS);
+            }
+        }
+    }
+
+    // --- accessors ---
+
+    public int getX(int i) { return x[i]; }
+    public int getY(int i) { return y[i]; }
+    public double getFitness(int i) { return fitness[i]; }
+
+    /**
+     * Adds value to both the scalar fitness and the given objective. Fitness is only ever written through the
+     * objectives, so it always equals their sum.
+     */
+    public void addFitness(int i, int objective, double value) {
+        fitness[i] += value;
+        objectives[i * OBJECTIVES + objective] += value;
+    }
+
+    /**
+     * Replaces target i's objectives with values[0..OBJECTIVES) and its fitness with their sum.
+     */
+    public void setObjectives(int i, double[] values) {
+        double sum = 0;
+        for (int m = 0; m < OBJECTIVES; m++) {
+            objectives[i * OBJECTIVES + m] = values[m];
+            sum += values[m];
+        }
+        fitness[i] = sum;
+    }
+
+    public double getObjective(int i, int objective) { return objectives[i * OBJECTIVES + objective]; }
+    public boolean isAlive(int i) { return alive[i]; }
+
+    /** Remembers (x, y) as the closest shot for target i's memo dodge. */
+    public void setMemoShot(int i, double x, double y) {
+        memoShotX[i] = x;
+        memoShotY[i] = y;
+    }
+
+    public void setAlive(int i, boolean value) { alive[i] = value; }
+    public Genome getGenome(int i) { return genomes[i]; }
+    public double getLastMoveDistance(int i) { return lastMoveDistance[i]; }
+    public float getHitFlashAlpha(int i) { return hitFlashAlpha[i]; }
+}
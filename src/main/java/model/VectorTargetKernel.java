@@ -0,0 +1,128 @@
+package model;
+
+import ai.ShotHistory;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * TargetKernel on the Vector API: targets are gathered into contiguous scratch arrays, one per SIMD lane,
+ * and every shot (or neighbour) is broadcast against a whole block of lanes. The scratch arrays are padded
+ * to a multiple of the vector length; the padding lanes compute garbage that is never read back.
+ * The per-lane arithmetic is the scalar kernel's, operation for operation, so results are bit-identical.
+ * Groups smaller than MIN_GROUP go to the scalar kernel: a world chunk usually holds only a few targets, and
+ * a block that is mostly padding costs more than the plain loop.
+ * Only loaded through TargetKernel.create() when jdk.incubator.vector is available.
+ */
+final class VectorTargetKernel implements TargetKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    static final int MIN_GROUP = 4 * LANES;
+
+    private final ScalarTargetKernel scalar = new ScalarTargetKernel();
+
+    private double[] px = new double[LANES];
+    private double[] py = new double[LANES];
+    private double[] avoidX = new double[LANES];
+    private double[] avoidY = new double[LANES];
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    @Override
+    public void think(TargetStore store, int[] ids, int count, double[] shotXs, double[] shotYs, int shotCount,
+                      ShotHistory shotHistory, int width, int height) {
+        if (count < MIN_GROUP) {
+            scalar.think(store, ids, count, shotXs, shotYs, shotCount, shotHistory, width, height);
+            return;
+        }
+        int padded = gather(store, ids, count);
+        for (int k = 0; k < padded; k += LANES) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, px, k);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, py, k);
+            DoubleVector ax = DoubleVector.zero(SPECIES);
+            DoubleVector ay = DoubleVector.zero(SPECIES);
+            for (int s = 0; s < shotCount; s++) {
+                DoubleVector sx = DoubleVector.broadcast(SPECIES, shotXs[s]);
+                DoubleVector sy = DoubleVector.broadcast(SPECIES, shotYs[s]);
+                DoubleVector dx = x.sub(sx);
+                DoubleVector dy = y.sub(sy);
+                DoubleVector dist2 = dx.mul(dx).add(dy.mul(dy));
+                VectorMask<Double> threat = dist2.lt(40000.0);
+                DoubleVector divisor = dist2.add(1.0);
+                ax = ax.add(dx.div(divisor), threat);
+                ay = ay.add(dy.div(divisor), threat);
+            }
+            ax.intoArray(avoidX, k);
+            ay.intoArray(avoidY, k);
+        }
+
+        for (int k = 0; k < count; k++) {
+            int i = ids[k];
+            if (!store.alive[i]) continue;
+            // random draws in the same order as the scalar path: randomX, randomY, then the history angle in move()
+            double randomX = (store.nextDouble(i) - 0.5) * store.randomScale[i] * 8;
+            double randomY = (store.nextDouble(i) - 0.5) * store.randomScale[i] * 8;
+            store.move(i, randomX, randomY, avoidX[k], avoidY[k], shotHistory, width, height);
+        }
+    }
+
+    @Override
+    public void proximity(TargetStore store, int[] ids, int count, double[] shotXs, double[] shotYs, int shotCount,
+                          double nearMissRadius, double nearMissWeight,
+                          double[] neighbourXs, double[] neighbourYs, int neighbourCount, double clusterDistance2,
+                          double[] nearMissOut, int[] clusterOut) {
+        if (count < MIN_GROUP) {
+            scalar.proximity(store, ids, count, shotXs, shotYs, shotCount, nearMissRadius, nearMissWeight,
+                    neighbourXs, neighbourYs, neighbourCount, clusterDistance2, nearMissOut, clusterOut);
+            return;
+        }
+        int padded = gather(store, ids, count);
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        for (int k = 0; k < padded; k += LANES) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, px, k);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, py, k);
+            DoubleVector nearMiss = DoubleVector.zero(SPECIES);
+            for (int s = 0; s < shotCount; s++) {
+                DoubleVector dx = x.sub(shotXs[s]);
+                DoubleVector dy = y.sub(shotYs[s]);
+                DoubleVector distance = dx.mul(dx).add(dy.mul(dy)).sqrt();
+                VectorMask<Double> near = distance.lt(nearMissRadius).and(distance.compare(VectorOperators.GT, TargetStore.RADIUS));
+                nearMiss = nearMiss.add(DoubleVector.broadcast(SPECIES, nearMissWeight).div(distance.add(10.0)), near);
+            }
+            DoubleVector close = DoubleVector.zero(SPECIES);
+            for (int n = 0; n < neighbourCount; n++) {
+                DoubleVector dx = x.sub(neighbourXs[n]);
+                DoubleVector dy = y.sub(neighbourYs[n]);
+                close = close.add(one, dx.mul(dx).add(dy.mul(dy)).lt(clusterDistance2));
+            }
+            nearMiss.intoArray(avoidX, k);
+            close.intoArray(avoidY, k);
+        }
+        for (int k = 0; k < count; k++) {
+            nearMissOut[k] = avoidX[k];
+            // the target itself is among the neighbours
+            clusterOut[k] = Math.max(0, (int) avoidY[k] - 1);
+        }
+    }
+
+    // copies the group's positions into the lane arrays; returns the padded length
+    private int gather(TargetStore store, int[] ids, int count) {
+        int padded = (count + LANES - 1) / LANES * LANES;
+        if (px.length < padded) {
+            int size = Math.max(padded, px.length * 2);
+            px = new double[size];
+            py = new double[size];
+            avoidX = new double[size];
+            avoidY = new double[size];
+        }
+        for (int k = 0; k < count; k++) {
+            px[k] = store.x[ids[k]];
+            py[k] = store.y[ids[k]];
+        }
+        return padded;
+    }
+}
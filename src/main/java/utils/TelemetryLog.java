@@ -0,0 +1,192 @@
+package utils;
+
+import ai.GenerationStats;
+import game.events.GameEventListener;
+import game.events.GameEventType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends one CSV row per generation on a background thread.
+ * The simulation thread only does a non-blocking offer() into a bounded queue;
+ * if the writer falls behind, records are dropped (and counted) instead of stalling the tick.
+ * Files rotate once they exceed maxFileBytes: generations-<runId>-0.csv, generations-<runId>-1.csv, ...
+ * Subscribed to the game event ring, it also keeps running totals of shots fired and targets killed.
+ */
+public class TelemetryLog implements AutoCloseable, GameEventListener {
+    private static final double[] PERCENTILES = {10, 50, 90};
+    private static final int DEFAULT_QUEUE_CAPACITY = 256;
+    private static final long DEFAULT_MAX_FILE_BYTES = 8L * 1024 * 1024;
+
+    private final Path directory;
+    private final long runId = System.currentTimeMillis();
+    private final long maxFileBytes;
+    private final boolean echoToConsole;
+    private final BlockingQueue<GenerationStats> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean closed = false;
+    // written only by the event consumer thread
+    private volatile long shotsFired = 0;
+    private volatile long targetsDied = 0;
+
+    private BufferedWriter out;
+    private int fileIndex = 0;
+    private long fileBytes = 0;
+
+    public TelemetryLog(Path directory, boolean echoToConsole) {
+        this(directory, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_FILE_BYTES, echoToConsole);
+    }
+
+    public TelemetryLog(Path directory, int queueCapacity, long maxFileBytes, boolean echoToConsole) {
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.echoToConsole = echoToConsole;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::runWriter, "telemetry-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a generation record; never blocks. Returns false if the record was dropped.
+     */
+    public boolean record(GenerationStats stats) {
+        if (closed || !queue.offer(stats)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void onEvent(GameEventType type, double x, double y, double value) {
+        switch (type) {
+            case SHOT_FIRED -> shotsFired++;
+            case TARGET_DIED -> targetsDied++;
+            default -> { }
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void runWriter() {
+        try {
+            Files.createDirectories(directory);
+            while (!closed || !queue.isEmpty()) {
+                GenerationStats stats = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (stats == null) continue;
+                write(stats);
+                if (queue.isEmpty() && out != null) {
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            closeFile();
+        }
+    }
+
+    private void write(GenerationStats stats) throws IOException {
+        if (out == null || fileBytes >= maxFileBytes) {
+            openNextFile(stats.getGeneCount());
+        }
+        String row = formatRow(stats);
+        out.write(row);
+        out.newLine();
+        fileBytes += row.length() + 1;
+
+        if (echoToConsole) {
+            System.out.printf(Locale.ROOT, "Generation %d - Avg fitness: %.2f, Std dev: %.2f, Best: %.2f, Genome: %s%n",
+                    stats.getGeneration(), stats.getMean(), stats.getStdDev(), stats.getBest(),
+                    Arrays.toString(stats.getBestGenes()));
+        }
+    }
+
+    private void openNextFile(int geneCount) throws IOException {
+        closeFile();
+        Path file = directory.resolve("generations-" + runId + "-" + fileIndex++ + ".csv");
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        StringBuilder header = new StringBuilder("generation,population,mean,std_dev,best,top_k,dropped,shots_fired,targets_died,best_genome");
+        for (int g = 0; g < geneCount; g++) {
+            for (double p : PERCENTILES) {
+                header.append(",gene").append(g).append("_p").append((int) p);
+            }
+        }
+        out.write(header.toString());
+        out.newLine();
+        fileBytes = header.length() + 1;
+    }
+
+    private String formatRow(GenerationStats stats) {
+        StringBuilder row = new StringBuilder(128);
+        row.append(stats.getGeneration()).append(',')
+                .append(stats.getCount()).append(',')
+                .append(format(stats.getMean())).append(',')
+                .append(format(stats.getStdDev())).append(',')
+                .append(format(stats.getBest())).append(',')
+                .append(join(stats.getTopFitness())).append(',')
+                .append(dropped.get()).append(',')
+                .append(shotsFired).append(',')
+                .append(targetsDied).append(',')
+                .append(join(stats.getBestGenes()));
+        for (int g = 0; g < stats.getGeneCount(); g++) {
+            for (double p : PERCENTILES) {
+                row.append(',').append(format(stats.getGenePercentile(g, p)));
+            }
+        }
+        return row.toString();
+    }
+
+    // multi-valued cells are ';'-separated so the row stays plain CSV
+    private static String join(double[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(';');
+            sb.append(format(values[i]));
+        }
+        return sb.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private void closeFile() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        out = null;
+    }
+
+    /**
+     * Stops accepting records, lets the writer drain the queue and waits for it to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writerThread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ai;
+
+import model.Shot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DangerFieldTest {
+    private static final int WIDTH = 1000, HEIGHT = 700;
+
+    /**
+     * Fires shots over many ticks, moving and dropping them as the engine does, and checks that the incrementally
+     * stamped field equals one rebuilt from scratch out of the live shots, and that it is empty once they are gone.
+     */
+    @Test
+    void incrementalStampsMatchFullRebuild() {
+        Random rand = new Random(29);
+        DangerField field = new DangerField(WIDTH, HEIGHT);
+        List<Shot> shots = new ArrayList<>();
+        for (int tick = 0; tick < 400; tick++) {
+            if (tick < 300) {
+                int fired = rand.nextInt(4);
+                for (int k = 0; k < fired; k++) {
+                    Shot shot = new Shot(rand.nextInt(WIDTH), HEIGHT - rand.nextInt(100), rand.nextInt(WIDTH),
+                            rand.nextInt(HEIGHT), Shot.MIN_SPEED + rand.nextDouble() * (Shot.MAX_SPEED - Shot.MIN_SPEED));
+                    shots.add(shot);
+                    field.addShot(shot);
+                }
+            }
+            for (Shot shot : shots) {
+                shot.move();
+            }
+            shots.removeIf(s -> s.x < 0 || s.x > WIDTH || s.y < 0 || s.y > HEIGHT);
+            field.advance();
+
+            if (tick % 10 == 0) {
+                DangerField rebuilt = new DangerField(WIDTH, HEIGHT);
+                for (Shot shot : shots) {
+                    rebuilt.addShot(shot);
+                }
+                assertEquals(shots.size(), field.getShotCount(), "shot count at tick " + tick);
+                assertSameDanger(rebuilt, field, "tick " + tick);
+            }
+        }
+        assertEquals(0, shots.size(), "every shot should have left the field");
+        assertSameDanger(new DangerField(WIDTH, HEIGHT), field, "after the last shot");
+    }
+
+    private static void assertSameDanger(DangerField expected, DangerField actual, String when) {
+        for (int y = 0; y < HEIGHT; y += DangerField.CELL_SIZE) {
+            for (int x = 0; x < WIDTH; x += DangerField.CELL_SIZE) {
+                assertEquals(expected.getDanger(x, y), actual.getDanger(x, y), "cell (" + x + ", " + y + "), " + when);
+            }
+        }
+    }
+}
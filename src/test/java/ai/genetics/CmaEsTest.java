@@ -0,0 +1,117 @@
+package ai.genetics;
+
+import model.Target;
+import model.TargetStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CmaEsTest {
+    private static final int N = Genome.GENE_COUNT;
+    // optimum inside the gene ranges, and an ill-conditioned ellipsoid around it
+    private static final double[] OPTIMUM = {0.3, -0.7, 1.1};
+    private static final double[] SCALES = {1, 100, 10_000};
+
+    private static double ellipsoid(double[] genes) {
+        double f = 0;
+        for (int i = 0; i < N; i++) {
+            double d = genes[i] - OPTIMUM[i];
+            f += SCALES[i] * d * d;
+        }
+        return f;
+    }
+
+    // evaluates genomes as targets whose fitness is -ellipsoid, like a round would score them
+    private static List<Target> evaluate(List<Genome> genomes) {
+        TargetStore store = new TargetStore(genomes.size());
+        List<Target> population = new ArrayList<>();
+        double[] objectives = new double[TargetStore.OBJECTIVES];
+        for (Genome genome : genomes) {
+            Target target = new Target(store, store.add(0, 0, genome, 0));
+            objectives[TargetStore.OBJECTIVE_SURVIVAL] = -ellipsoid(genome.getGenes());
+            target.setObjectives(objectives);
+            population.add(target);
+        }
+        return population;
+    }
+
+    private static double run(Optimizer optimizer, int generations, int populationSize, boolean grow) {
+        Random rand = new Random(43);
+        List<Genome> genomes = new ArrayList<>();
+        for (int k = 0; k < populationSize; k++) genomes.add(new Genome(rand));
+        double best = Double.MAX_VALUE;
+        for (int g = 0; g < generations; g++) {
+            List<Target> population = evaluate(genomes);
+            for (Target t : population) best = Math.min(best, -t.getFitness());
+            genomes = optimizer.nextGeneration(population, grow ? population.size() + 1 : populationSize);
+        }
+        return best;
+    }
+
+    @Test
+    void convergesOnEllipsoid() {
+        CmaEs cmaEs = new CmaEs(new Random(1));
+        double best = run(cmaEs, 200, 4 + (int) (3 * Math.log(N)) + 2, false);
+        assertTrue(best < 1e-8, "best " + best);
+        double[] mean = cmaEs.getMean();
+        for (int i = 0; i < N; i++) {
+            assertEquals(OPTIMUM[i], mean[i], 1e-3, "mean gene " + i);
+        }
+    }
+
+    /**
+     * The interactive game starts with one target and adds one per generation: the small generations are
+     * pooled up to MIN_LAMBDA samples per update, and the search still converges.
+     */
+    @Test
+    void convergesFromSingleTargetGenerations() {
+        assertEquals(4 + (int) Math.floor(3 * Math.log(N)), CmaEs.MIN_LAMBDA);
+        double growing = run(new CmaEs(new Random(2)), 60, 1, true);
+        assertTrue(growing < 1e-6, "growing population, best " + growing);
+        double single = run(new CmaEs(new Random(3)), 700, 1, false);
+        assertTrue(single < 1e-4, "single target, best " + single);
+    }
+
+    /**
+     * The Jacobi decomposition reconstructs random symmetric matrices, A = V diag(values) V^T, with V orthonormal.
+     */
+    @Test
+    void jacobiEigenReconstructsSymmetricMatrices() {
+        Random rand = new Random(47);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 1 + rand.nextInt(6);
+            double[] a = new double[n * n];
+            for (int r = 0; r < n; r++) {
+                for (int c = 0; c <= r; c++) {
+                    double v = trial % 4 == 0 ? rand.nextInt(3) - 1 : rand.nextGaussian() * Math.pow(10, rand.nextInt(5) - 2);
+                    a[r * n + c] = v;
+                    a[c * n + r] = v;
+                }
+            }
+            double[] original = a.clone();
+            double[] values = new double[n];
+            double[] vectors = new double[n * n];
+            CmaEs.jacobiEigen(a, n, values, vectors);
+            double scale = 1;
+            for (double v : a) scale = Math.max(scale, Math.abs(v));
+            for (int r = 0; r < n; r++) {
+                for (int c = 0; c < n; c++) {
+                    double rebuilt = 0, gram = 0;
+                    for (int k = 0; k < n; k++) {
+                        rebuilt += vectors[r * n + k] * values[k] * vectors[c * n + k];
+                        gram += vectors[k * n + r] * vectors[k * n + c];
+                    }
+                    assertEquals(original[r * n + c], rebuilt, 1e-9 * scale, "A[" + r + "][" + c + "], trial " + trial);
+                    assertEquals(r == c ? 1 : 0, gram, 1e-9, "V^T V[" + r + "][" + c + "], trial " + trial);
+                }
+            }
+            assertTrue(Arrays.equals(original, a), "input modified");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ai.genetics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenomeKdTreeTest {
+
+    /**
+     * Checks every radius query against a brute-force scan, with some points already taken, and coarse genes
+     * so that many points share split coordinates or coincide.
+     */
+    @Test
+    void claimWithinMatchesBruteForce() {
+        Random rand = new Random(23);
+        GenomeKdTree tree = new GenomeKdTree();
+        for (int trial = 0; trial < 200; trial++) {
+            int size = 1 + rand.nextInt(300);
+            boolean coarse = trial % 2 == 0;
+            Genome[] genomes = new Genome[size];
+            for (int i = 0; i < size; i++) {
+                double[] genes = new double[Genome.GENE_COUNT];
+                for (int k = 0; k < genes.length; k++) {
+                    genes[k] = coarse ? rand.nextInt(5) * 0.25 : rand.nextDouble();
+                }
+                genomes[i] = new Genome(genes);
+            }
+            tree.build(genomes, size);
+
+            boolean[] taken = new boolean[size];
+            for (int i = 0; i < size; i++) taken[i] = rand.nextInt(4) == 0;
+            int[] out = new int[size];
+            for (int query = 0; query < 20; query++) {
+                int center = rand.nextInt(size);
+                double radius = rand.nextDouble() * 0.6;
+                int[] expected = bruteForce(genomes, center, radius, taken);
+                int count = tree.claimWithin(center, radius, taken, out);
+                int[] actual = Arrays.copyOf(out, count);
+                Arrays.sort(actual);
+                assertArrayEquals(expected, actual, "trial " + trial + ", query " + query);
+                for (int i : expected) {
+                    assertTrue(taken[i], "point " + i + " not marked, trial " + trial);
+                }
+            }
+        }
+    }
+
+    // unmarked points within radius of center, ascending
+    private static int[] bruteForce(Genome[] genomes, int center, double radius, boolean[] taken) {
+        double[] c = genomes[center].getGenes();
+        int[] within = new int[genomes.length];
+        int count = 0;
+        for (int i = 0; i < genomes.length; i++) {
+            if (taken[i]) continue;
+            double[] g = genomes[i].getGenes();
+            double d2 = 0;
+            for (int k = 0; k < g.length; k++) {
+                d2 += (g[k] - c[k]) * (g[k] - c[k]);
+            }
+            if (d2 <= radius * radius) within[count++] = i;
+        }
+        return Arrays.copyOf(within, count);
+    }
+}
@@ -0,0 +1,71 @@
+package ai.genetics;
+
+import model.TargetStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Nsga2Test {
+    private static final int M = TargetStore.OBJECTIVES;
+
+    /**
+     * Checks the ENS-BS ranks against the textbook sort that peels off the non-dominated set in O(N^2) per front.
+     * Small integer objectives make equal values and fully duplicated vectors common.
+     */
+    @Test
+    void frontsMatchNaiveNonDominatedSort() {
+        Random rand = new Random(17);
+        Nsga2 nsga2 = new Nsga2(GeneticConfig.DEFAULT, new Random(1));
+        for (int trial = 0; trial < 300; trial++) {
+            int size = 1 + rand.nextInt(120);
+            int levels = trial % 3 == 0 ? 2 : trial % 3 == 1 ? 4 : 1000;
+            double[] values = new double[size * M];
+            for (int k = 0; k < values.length; k++) {
+                values[k] = rand.nextInt(levels) - levels / 2;
+            }
+            int[] expected = naiveRanks(values, size);
+            assertArrayEquals(expected, nsga2.rankFronts(values, size), "trial " + trial);
+            int fronts = 0;
+            for (int r : expected) fronts = Math.max(fronts, r + 1);
+            assertEquals(fronts, nsga2.getFrontCount(), "front count, trial " + trial);
+        }
+    }
+
+    private static int[] naiveRanks(double[] values, int size) {
+        int[] rank = new int[size];
+        boolean[] assigned = new boolean[size];
+        boolean[] inFront = new boolean[size];
+        int remaining = size;
+        for (int front = 0; remaining > 0; front++) {
+            for (int i = 0; i < size; i++) {
+                inFront[i] = false;
+                if (assigned[i]) continue;
+                boolean dominated = false;
+                for (int j = 0; j < size && !dominated; j++) {
+                    dominated = !assigned[j] && dominates(values, j, i);
+                }
+                inFront[i] = !dominated;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!inFront[i]) continue;
+                rank[i] = front;
+                assigned[i] = true;
+                remaining--;
+            }
+        }
+        return rank;
+    }
+
+    private static boolean dominates(double[] values, int a, int b) {
+        boolean better = false;
+        for (int m = 0; m < M; m++) {
+            double va = values[a * M + m], vb = values[b * M + m];
+            if (va < vb) return false;
+            if (va > vb) better = true;
+        }
+        return better;
+    }
+}
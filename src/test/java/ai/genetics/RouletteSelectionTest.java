@@ -0,0 +1,97 @@
+package ai.genetics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouletteSelectionTest {
+    private static final int DRAWS = 200_000;
+
+    private static final double[][] FITNESS = {
+            {1, 2, 3, 4, 10, 0.5, 7},
+            // negative fitness: shifted so the worst keeps a tiny chance
+            {-50, -10, 0, 25, -3, 8},
+            // all equal: uniform
+            {3, 3, 3, 3, 3},
+            {-2, -2, -2},
+            {42},
+    };
+
+    // the documented roulette weights: fitness shifted so the minimum sits at a small positive floor
+    private static double[] expectedProbabilities(double[] fitness) {
+        double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+        for (double f : fitness) {
+            min = Math.min(min, f);
+            max = Math.max(max, f);
+        }
+        double floor = Math.max(1e-9, (max - min) * 1e-3);
+        double total = 0;
+        double[] p = new double[fitness.length];
+        for (int i = 0; i < fitness.length; i++) {
+            p[i] = fitness[i] - min + floor;
+            total += p[i];
+        }
+        for (int i = 0; i < fitness.length; i++) p[i] /= total;
+        return p;
+    }
+
+    private static void assertProportional(SelectionStrategy strategy, double[] fitness, int count, int rounds) {
+        double[] p = expectedProbabilities(fitness);
+        long[] hits = new long[fitness.length];
+        int[] out = new int[count];
+        Random rand = new Random(37);
+        for (int r = 0; r < rounds; r++) {
+            strategy.select(fitness, fitness.length, count, out, rand);
+            for (int j = 0; j < count; j++) hits[out[j]]++;
+        }
+        long total = (long) count * rounds;
+        for (int i = 0; i < fitness.length; i++) {
+            double expected = p[i] * total;
+            // five standard deviations of a binomial count, plus one for rounding
+            double tolerance = 5 * Math.sqrt(total * p[i] * (1 - p[i])) + 1;
+            assertEquals(expected, hits[i], tolerance, "picks of " + i + " with fitness " + fitness[i]);
+        }
+    }
+
+    @Test
+    void aliasTablePicksProportionally() {
+        for (double[] fitness : FITNESS) {
+            assertProportional(new AliasRouletteSelection(), fitness, DRAWS / 100, 100);
+        }
+    }
+
+    @Test
+    void stochasticUniversalSamplingPicksProportionally() {
+        for (double[] fitness : FITNESS) {
+            assertProportional(new StochasticUniversalSampling(), fitness, 10, DRAWS / 10);
+        }
+    }
+
+    /**
+     * Within a single spin every individual is picked floor or ceil of its expected number of times.
+     */
+    @Test
+    void stochasticUniversalSamplingStaysWithinOneOfExpectation() {
+        Random rand = new Random(41);
+        StochasticUniversalSampling sus = new StochasticUniversalSampling();
+        for (double[] fitness : FITNESS) {
+            double[] p = expectedProbabilities(fitness);
+            for (int count : new int[]{1, fitness.length, 17, 100}) {
+                int[] out = new int[count];
+                for (int spin = 0; spin < 200; spin++) {
+                    sus.select(fitness, fitness.length, count, out, rand);
+                    int[] copies = new int[fitness.length];
+                    for (int j = 0; j < count; j++) copies[out[j]]++;
+                    for (int i = 0; i < fitness.length; i++) {
+                        double expected = p[i] * count;
+                        assertTrue(copies[i] >= Math.floor(expected - 1e-9) && copies[i] <= Math.ceil(expected + 1e-9),
+                                copies[i] + " copies of " + i + ", expected " + expected + ", count " + count);
+                    }
+                }
+            }
+        }
+    }
+}
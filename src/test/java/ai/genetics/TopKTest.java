@@ -0,0 +1,44 @@
+package ai.genetics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKTest {
+
+    /**
+     * Checks the selected values against a full sort, best first, for k of 0, 1, n, beyond n and in between.
+     * Small integer values make ties common; among ties any index may be picked, so values are compared.
+     */
+    @Test
+    void indicesMatchFullSort() {
+        Random rand = new Random(31);
+        for (int trial = 0; trial < 500; trial++) {
+            int size = 1 + rand.nextInt(200);
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = trial % 2 == 0 ? rand.nextInt(8) - 4 : rand.nextGaussian();
+            }
+            double[] original = values.clone();
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            int[] ks = {0, 1, size, size + 3, rand.nextInt(size + 1)};
+            for (int k : ks) {
+                int[] out = new int[Math.max(1, k)];
+                int count = TopK.indices(values, size, k, out);
+                assertEquals(Math.min(k, size), count, "count, k " + k);
+                boolean[] seen = new boolean[size];
+                for (int j = 0; j < count; j++) {
+                    assertTrue(!seen[out[j]], "index " + out[j] + " picked twice, k " + k);
+                    seen[out[j]] = true;
+                    assertEquals(sorted[size - 1 - j], values[out[j]], "value " + j + ", k " + k + ", trial " + trial);
+                }
+            }
+            assertTrue(Arrays.equals(original, values), "input modified");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package model;
+
+import ai.ShotHistory;
+import ai.genetics.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class TargetKernelTest {
+    private static final int WIDTH = 2000, HEIGHT = 1500;
+
+    private static TargetStore seededStore(int count) {
+        Random rand = new Random(11);
+        TargetStore store = new TargetStore(count);
+        for (int i = 0; i < count; i++) {
+            store.add(200 + rand.nextInt(600), 200 + rand.nextInt(600), new Genome(rand), rand.nextLong());
+        }
+        return store;
+    }
+
+    /**
+     * Runs the same seeded ticks on two stores, one per kernel, with groups both below and above the
+     * vector kernel's scalar fallback size, and checks the stores end up identical.
+     */
+    @Test
+    void vectorKernelMatchesScalarKernel() {
+        int count = 3 * VectorTargetKernel.MIN_GROUP + 5;
+        TargetStore scalarStore = seededStore(count);
+        TargetStore vectorStore = seededStore(count);
+        TargetKernel scalar = new ScalarTargetKernel();
+        TargetKernel vector = new VectorTargetKernel();
+        ShotHistory history = new ShotHistory(WIDTH, HEIGHT);
+        Random rand = new Random(5);
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) ids[i] = i;
+        double[] shotXs = new double[40], shotYs = new double[40];
+        double[] nearMissA = new double[count], nearMissB = new double[count];
+        int[] clusterA = new int[count], clusterB = new int[count];
+        double[] neighbourXs = new double[count], neighbourYs = new double[count];
+
+        for (int tick = 0; tick < 200; tick++) {
+            int shotCount = rand.nextInt(shotXs.length);
+            for (int s = 0; s < shotCount; s++) {
+                shotXs[s] = rand.nextDouble() * 1000;
+                shotYs[s] = rand.nextDouble() * 1000;
+            }
+            history.record(rand.nextInt(WIDTH), rand.nextInt(HEIGHT));
+            // the engine refreshes the memo shot before thinking; give both stores the same one
+            for (int i = 0; i < count && shotCount > 0; i++) {
+                int s = rand.nextInt(shotCount);
+                scalarStore.setMemoShot(i, shotXs[s], shotYs[s]);
+                vectorStore.setMemoShot(i, shotXs[s], shotYs[s]);
+            }
+            // alternate a small group (scalar fallback) and the whole population (vector blocks)
+            int group = tick % 2 == 0 ? VectorTargetKernel.MIN_GROUP - 1 : count;
+            scalar.think(scalarStore, ids, group, shotXs, shotYs, shotCount, history, WIDTH, HEIGHT);
+            vector.think(vectorStore, ids, group, shotXs, shotYs, shotCount, history, WIDTH, HEIGHT);
+
+            for (int i = 0; i < count; i++) {
+                neighbourXs[i] = scalarStore.x[i];
+                neighbourYs[i] = scalarStore.y[i];
+            }
+            scalar.proximity(scalarStore, ids, group, shotXs, shotYs, shotCount, 150, 40,
+                    neighbourXs, neighbourYs, count, 2500, nearMissA, clusterA);
+            vector.proximity(vectorStore, ids, group, shotXs, shotYs, shotCount, 150, 40,
+                    neighbourXs, neighbourYs, count, 2500, nearMissB, clusterB);
+            assertArrayEquals(nearMissA, nearMissB, 0.0, "near miss at tick " + tick);
+            assertArrayEquals(clusterA, clusterB, "clustering at tick " + tick);
+        }
+
+        assertArrayEquals(scalarStore.x, vectorStore.x);
+        assertArrayEquals(scalarStore.y, vectorStore.y);
+        assertArrayEquals(scalarStore.seed, vectorStore.seed);
+        assertArrayEquals(scalarStore.lastMoveX, vectorStore.lastMoveX, 0.0);
+        assertArrayEquals(scalarStore.lastMoveY, vectorStore.lastMoveY, 0.0);
+    }
+}
@@ -0,0 +1,25 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TargetStoreTest {
+
+    @Test
+    void randomSourceMatchesJavaUtilRandom() {
+        TargetStore store = new TargetStore(2);
+        for (long seed : new long[]{0, 1, -7, 42, Long.MAX_VALUE, 0x5DEECE66DL}) {
+            store.setSeed(1, seed);
+            Random reference = new Random(seed);
+            for (int k = 0; k < 1000; k++) {
+                assertEquals(reference.nextDouble(), store.nextDouble(1), "nextDouble, seed " + seed);
+                // powers of two and values that need rejection sampling take different paths
+                int bound = k % 3 == 0 ? 1024 : k % 3 == 1 ? 1_500_000_001 : 1 + k;
+                assertEquals(reference.nextInt(bound), store.nextInt(1, bound), "nextInt(" + bound + "), seed " + seed);
+            }
+        }
+    }
+}